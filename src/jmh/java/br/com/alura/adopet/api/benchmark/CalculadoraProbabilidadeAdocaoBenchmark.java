@@ -0,0 +1,68 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.service.CalculadoraProbabilidadeAdocao;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculadoraProbabilidadeAdocaoBenchmark {
+
+    private static final int QUANTIDADE = 1 << 16;
+
+    private final CalculadoraProbabilidadeAdocao calculadora = new CalculadoraProbabilidadeAdocao();
+
+    private Pet[] pets;
+
+    private byte[] tipos;
+
+    private int[] idades;
+
+    private float[] pesos;
+
+    private byte[] probabilidades;
+
+    @Setup
+    public void iniciar() {
+        Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo", "85999999999", "abrigo@email.com"));
+        pets = new Pet[QUANTIDADE];
+        tipos = new byte[QUANTIDADE];
+        idades = new int[QUANTIDADE];
+        pesos = new float[QUANTIDADE];
+        probabilidades = new byte[QUANTIDADE];
+        for (int i = 0; i < QUANTIDADE; i++) {
+            TipoPet tipo = i % 2 == 0 ? TipoPet.GATO : TipoPet.CACHORRO;
+            pets[i] = new Pet(new CadastroPetDto(tipo, "Pet " + i, "SRD", i % 20, "Caramelo", 2f + i % 25), abrigo, null);
+            tipos[i] = (byte) tipo.ordinal();
+            idades[i] = i % 20;
+            pesos[i] = 2f + i % 25;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public void calcular(Blackhole blackhole) {
+        for (Pet pet : pets) {
+            blackhole.consume(calculadora.calcular(pet));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public byte[] calcularEmLote() {
+        calculadora.calcular(tipos, idades, pesos, QUANTIDADE, probabilidades);
+        return probabilidades;
+    }
+
+}
@@ -0,0 +1,78 @@
+package br.com.alura.adopet.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga dos endpoints de listagem com clientes concorrentes.
+ * Rodar com {@code -p threadsVirtuais=false,true} (Java 21+) e comparar a vazão
+ * (thrpt) dos dois modos para o mesmo percentil de latência (sample, p0.99).
+ * {@code latenciaBancoMs} simula a espera de rede de cada comando no banco, que o H2 em memória não tem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class CargaEndpointsBenchmark {
+
+    @Param("false")
+    private boolean threadsVirtuais;
+
+    @Param("20")
+    private int threadsTomcat;
+
+    @Param("10")
+    private int conexoesBanco;
+
+    @Param("5")
+    private int latenciaBancoMs;
+
+    private ConfigurableApplicationContext contexto;
+
+    private HttpClient cliente;
+
+    private HttpRequest listagemPets;
+
+    private HttpRequest listagemPetsDoAbrigo;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciarServidor(Duration.ofMillis(latenciaBancoMs),
+                "--adopet.threads-virtuais.habilitado=" + threadsVirtuais,
+                "--server.tomcat.threads.max=" + threadsTomcat,
+                "--spring.datasource.hikari.maximum-pool-size=" + conexoesBanco);
+        ContextoBenchmark.popular(contexto, 100, 1000, 0);
+
+        String base = "http://localhost:" + ContextoBenchmark.porta(contexto);
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        listagemPets = HttpRequest.newBuilder(URI.create(base + "/pets?limit=20")).build();
+        listagemPetsDoAbrigo = HttpRequest.newBuilder(URI.create(base + "/abrigos/1/pets")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int listarPets() throws IOException, InterruptedException {
+        return cliente.send(listagemPets, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int listarPetsDoAbrigo() throws IOException, InterruptedException {
+        return cliente.send(listagemPetsDoAbrigo, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+}
@@ -0,0 +1,108 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.AdopetApiApplication;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.service.CalculadoraProbabilidadeAdocao;
+import br.com.alura.adopet.api.service.RegrasProbabilidadeAdocaoEmVigor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+final class ContextoBenchmark {
+
+    private ContextoBenchmark() {
+    }
+
+    static ConfigurableApplicationContext iniciar() {
+        return iniciar(WebApplicationType.NONE, Duration.ZERO);
+    }
+
+    static ConfigurableApplicationContext iniciarServidor(Duration latenciaBanco, String... argumentos) {
+        return iniciar(WebApplicationType.SERVLET, latenciaBanco, Stream.concat(Stream.of("--server.port=0"), Stream.of(argumentos)).toArray(String[]::new));
+    }
+
+    static int porta(ConfigurableApplicationContext contexto) {
+        return ((WebServerApplicationContext) contexto).getWebServer().getPort();
+    }
+
+    private static ConfigurableApplicationContext iniciar(WebApplicationType tipo, Duration latenciaBanco, String... argumentos) {
+        String[] padrao = {
+                "--spring.datasource.url=jdbc:h2:mem:adopet-benchmark;MODE=MySQL;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.open-in-view=false",
+                "--adopet.email.outbox.relay.habilitado=false",
+                "--logging.level.root=WARN"};
+
+        return new SpringApplicationBuilder(AdopetApiApplication.class)
+                .web(tipo)
+                .logStartupInfo(false)
+                .initializers(contexto -> contexto.getBeanFactory().addBeanPostProcessor(new LatenciaBanco(latenciaBanco)))
+                .run(Stream.concat(Stream.of(padrao), Stream.of(argumentos)).toArray(String[]::new));
+    }
+
+    static void popular(ConfigurableApplicationContext contexto, int tutores, int pets, int adocoes) {
+        JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+        CalculadoraProbabilidadeAdocao calculadora = contexto.getBean(RegrasProbabilidadeAdocaoEmVigor.class).calculadora();
+
+        jdbc.update("insert into abrigos(nome, telefone, email) values ('Abrigo benchmark', '85999999999', 'abrigo@benchmark.com')");
+
+        jdbc.batchUpdate("""
+                insert into pets(tipo, nome, raca, idade, cor, peso, abrigo_id, adotado, probabilidade_adocao)
+                values (?, ?, 'SRD', ?, 'Caramelo', ?, 1, false, ?)
+                """, new Lote(pets), 1000, (ps, i) -> {
+            TipoPet tipo = i % 2 == 0 ? TipoPet.GATO : TipoPet.CACHORRO;
+            int idade = i % 20;
+            float peso = 2 + i % 25;
+            ps.setString(1, tipo.name());
+            ps.setString(2, "Pet " + i);
+            ps.setInt(3, idade);
+            ps.setFloat(4, peso);
+            ps.setString(5, calculadora.calcular(tipo, idade, peso).name());
+        });
+
+        jdbc.batchUpdate("insert into tutores(nome, telefone, email) values (?, ?, ?)", new Lote(tutores), 1000, (ps, i) -> {
+            ps.setString(1, "Tutor " + i);
+            ps.setString(2, String.format("%011d", i));
+            ps.setString(3, "tutor" + i + "@benchmark.com");
+        });
+
+        Timestamp data = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.batchUpdate("""
+                insert into adocoes(data, tutor_id, pet_id, motivo, status, justificativa_status)
+                values (?, ?, ?, 'Histórico', 'REPROVADO', 'Histórico')
+                """, new Lote(adocoes), 1000, (ps, i) -> {
+            ps.setTimestamp(1, data);
+            ps.setLong(2, i % tutores + 1);
+            ps.setLong(3, i % pets + 1);
+        });
+    }
+
+    private static final class Lote extends java.util.AbstractList<Integer> {
+
+        private final int tamanho;
+
+        private Lote(int tamanho) {
+            this.tamanho = tamanho;
+        }
+
+        @Override
+        public Integer get(int indice) {
+            return indice;
+        }
+
+        @Override
+        public int size() {
+            return tamanho;
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package br.com.alura.adopet.api.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Acrescenta uma espera bloqueante a cada comando executado no banco, simulando o tempo de ida e volta
+ * da rede até um MySQL real. Sem ela o H2 em memória responde sem bloquear a thread e o teste de carga
+ * não reproduz a saturação do pool de threads que as threads virtuais pretendem resolver.
+ */
+final class LatenciaBanco implements BeanPostProcessor {
+
+    private final Duration latencia;
+
+    LatenciaBanco(Duration latencia) {
+        this.latencia = latencia;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String nome) {
+        if (bean instanceof DataSource dataSource && !latencia.isZero()) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return comLatencia(Connection.class, super.getConnection());
+                }
+            };
+        }
+        return bean;
+    }
+
+    private <T> T comLatencia(Class<T> tipo, T alvo) {
+        InvocationHandler handler = (proxy, metodo, argumentos) -> {
+            if (alvo instanceof Statement && metodo.getName().startsWith("execute")) {
+                esperar();
+            }
+            Object resultado = invocar(alvo, metodo, argumentos);
+            if (resultado instanceof Statement statement && metodo.getName().endsWith("Statement")) {
+                return comLatencia(tipoDoStatement(metodo), statement);
+            }
+            return resultado;
+        };
+        return tipo.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{tipo}, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<Statement> tipoDoStatement(Method metodo) {
+        return (Class<Statement>) metodo.getReturnType();
+    }
+
+    private Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private void esperar() throws InterruptedException {
+        Thread.sleep(latencia.toMillis());
+    }
+
+}
@@ -0,0 +1,70 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.repository.PetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListagemPetsBenchmark {
+
+    @Param("10000")
+    private int pets;
+
+    @Param({"100", "1000"})
+    private int limite;
+
+    private ConfigurableApplicationContext contexto;
+
+    private PetRepository petRepository;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        ContextoBenchmark.popular(contexto, 1, pets, 0);
+        petRepository = contexto.getBean(PetRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(contexto.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(contexto.getBean(TransactionTemplate.class).getTransactionManager());
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<PetDto> entidades() {
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("select p from Pet p where p.adotado = false order by p.id", Pet.class)
+                .setMaxResults(limite)
+                .getResultList()
+                .stream()
+                .map(PetDto::new)
+                .toList());
+    }
+
+    @Benchmark
+    public List<PetDto> projecao() {
+        return transactionTemplate.execute(status -> petRepository.listarDisponiveis(0L, PageRequest.ofSize(limite)));
+    }
+
+}
@@ -0,0 +1,46 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PetDtoBenchmark {
+
+    @Param({"100", "1000"})
+    private int quantidade;
+
+    private List<Pet> pets;
+
+    @Setup
+    public void iniciar() {
+        Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo", "85999999999", "abrigo@email.com"));
+        pets = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            pets.add(new Pet(new CadastroPetDto(TipoPet.GATO, "Pet " + i, "SRD", i % 20, "Caramelo", 4f), abrigo, ProbabilidadeAdocao.ALTA));
+        }
+    }
+
+    @Benchmark
+    public List<PetDto> mapear() {
+        return pets
+                .stream()
+                .map(PetDto::new)
+                .toList();
+    }
+
+}
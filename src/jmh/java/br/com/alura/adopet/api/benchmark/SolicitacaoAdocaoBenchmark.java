@@ -0,0 +1,59 @@
+package br.com.alura.adopet.api.benchmark;
+
+import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.service.AdocaoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolicitacaoAdocaoBenchmark {
+
+    @Param("1000")
+    private int tutores;
+
+    @Param("1000")
+    private int pets;
+
+    @Param({"10000", "100000"})
+    private int adocoes;
+
+    private ConfigurableApplicationContext contexto;
+
+    private AdocaoService adocaoService;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        ContextoBenchmark.popular(contexto, tutores, pets, adocoes);
+        adocaoService = contexto.getBean(AdocaoService.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public void solicitar() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(random.nextLong(1, pets + 1), random.nextLong(1, tutores + 1), "Benchmark");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            adocaoService.solicitar(dto);
+            status.setRollbackOnly();
+        });
+    }
+
+}
@@ -0,0 +1,55 @@
+package br.com.alura.adopet.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "adopet.threads-virtuais.habilitado", havingValue = "true")
+public class ConfiguracaoThreadsVirtuais {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> tomcatComThreadsVirtuais() {
+        // O executor não é exposto como bean: um Executor no contexto faria o Spring Boot
+        // deixar de criar o applicationTaskExecutor usado pelas requisições assíncronas do MVC.
+        ExecutorService executor = criarExecutorThreadsVirtuais();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    // Com threads virtuais o pool de conexões passa a ser o limite de concorrência,
+    // então a espera por uma conexão livre é encurtada apenas neste modo.
+    @Bean
+    public static BeanPostProcessor timeoutConexaoComThreadsVirtuais(Environment environment) {
+        Duration timeout = environment.getProperty("adopet.threads-virtuais.timeout-conexao", Duration.class, Duration.ofSeconds(2));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setConnectionTimeout(timeout.toMillis());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private ExecutorService criarExecutorThreadsVirtuais() {
+        // Obtido por reflexão para que o projeto continue compilando com release 17;
+        // em tempo de execução a JVM precisa ser 21 ou superior.
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalStateException("Threads virtuais exigem Java 21 ou superior", exception);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais", exception);
+        }
+    }
+
+}
@@ -4,16 +4,26 @@ import br.com.alura.adopet.api.dto.AbrigoDto;
 import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
 import br.com.alura.adopet.api.dto.CadastroPetDto;
 import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.ResultadoCadastroPetDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Abrigo;
 import br.com.alura.adopet.api.service.AbrigoService;
 import br.com.alura.adopet.api.service.PetService;
+import br.com.alura.adopet.api.service.VersoesListagens;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -26,10 +36,21 @@ public class AbrigoController {
     @Autowired
     private PetService petService;
 
+    @Autowired
+    private VersoesListagens versoesListagens;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public ResponseEntity<List<AbrigoDto>> listar() {
+    public ResponseEntity<List<AbrigoDto>> listar(WebRequest request) {
+        String etag = versoesListagens.etagGlobal();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         List<AbrigoDto> abrigos = abrigoService.listar();
-        return ResponseEntity.ok(abrigos);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(abrigos);
     }
 
     @PostMapping
@@ -44,10 +65,16 @@ public class AbrigoController {
     }
 
     @GetMapping("/{idOuNome}/pets")
-    public ResponseEntity<List<PetDto>> listarPets(@PathVariable String idOuNome) {
+    public ResponseEntity<List<PetDto>> listarPets(@PathVariable String idOuNome, WebRequest request) {
         try {
+            Abrigo abrigo = abrigoService.carregarAbrigo(idOuNome);
+            String etag = versoesListagens.etagAbrigo(abrigo.getId());
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+
             List<PetDto> petsDoAbrigo = abrigoService.listarPetsDoAbrigo(idOuNome);
-            return ResponseEntity.ok(petsDoAbrigo);
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(petsDoAbrigo);
         } catch (ValidacaoException exception) {
             return ResponseEntity.notFound().build();
         }
@@ -65,4 +92,16 @@ public class AbrigoController {
         }
     }
 
+    // um array JSON ou NDJSON, lido item a item: o MappingIterator entra no array quando o corpo começa com "["
+    @PostMapping(value = "/{idOuNome}/pets/lote", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    @Transactional
+    public ResponseEntity<List<ResultadoCadastroPetDto>> cadastrarPetsEmLote(@PathVariable String idOuNome, InputStream corpo) throws IOException {
+        try (MappingIterator<CadastroPetDto> dtos = objectMapper.readerFor(CadastroPetDto.class).readValues(corpo)) {
+            Abrigo abrigo = abrigoService.carregarAbrigo(idOuNome);
+            return ResponseEntity.ok(petService.cadastrarPetsEmLote(abrigo, dtos));
+        } catch (ValidacaoException exception) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
 }
@@ -1,30 +1,64 @@
 package br.com.alura.adopet.api.controller;
 
+import br.com.alura.adopet.api.dto.AdocaoExportadaDto;
 import br.com.alura.adopet.api.dto.AprovacaoAdocaoDto;
+import br.com.alura.adopet.api.dto.FiltroExportacaoAdocoesDto;
 import br.com.alura.adopet.api.dto.ReprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.service.AdocaoService;
+import br.com.alura.adopet.api.service.LimiteExportacoesSimultaneas;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
-import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/adocoes")
 public class AdocaoController {
 
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final String CABECALHO_CSV = "id,data,status,tutor,pet,abrigo,motivo,justificativa_status";
+
+    private static final String ESPERA_NOVA_EXPORTACAO_SEGUNDOS = "30";
+
     @Autowired
     private AdocaoService adocaoService;
 
+    @Autowired
+    private LimiteExportacoesSimultaneas limiteExportacoes;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
-    @Transactional
     public ResponseEntity<String> solicitar(@RequestBody @Valid SolicitacaoAdocaoDto dto) {
         try {
             this.adocaoService.solicitar(dto);
             return ResponseEntity.ok("Adoção solciitada com sucesso!");
-        } catch (ValidationException e) {
+        } catch (ValidacaoException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
@@ -32,15 +66,122 @@ public class AdocaoController {
     @PutMapping("/aprovar")
     @Transactional
     public ResponseEntity<String> aprovar(@RequestBody @Valid AprovacaoAdocaoDto dto) {
-        this.adocaoService.aprovar(dto);
-        return ResponseEntity.ok().build();
+        try {
+            this.adocaoService.aprovar(dto);
+            return ResponseEntity.ok().build();
+        } catch (ValidacaoException exception) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @PutMapping("/reprovar")
     @Transactional
     public ResponseEntity<String> reprovar(@RequestBody @Valid ReprovacaoAdocaoDto dto) {
-        this.adocaoService.reprovar(dto);
-        return ResponseEntity.ok().build();
+        try {
+            this.adocaoService.reprovar(dto);
+            return ResponseEntity.ok().build();
+        } catch (ValidacaoException exception) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportarHistorico(FiltroExportacaoAdocoesDto filtro,
+                                                                   @RequestParam(name = "formato", defaultValue = "ndjson") String formato,
+                                                                   @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean csv = "csv".equalsIgnoreCase(formato);
+        if (!csv && !"ndjson".equalsIgnoreCase(formato)) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        // a conexão fica presa ao cursor enquanto o cliente lê a resposta, então as exportações simultâneas são limitadas
+        if (!limiteExportacoes.tentarIniciar()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, ESPERA_NOVA_EXPORTACAO_SEGUNDOS)
+                    .build();
+        }
+
+        StreamingResponseBody corpo = saida -> {
+            try {
+                OutputStream destino = gzip ? new GZIPOutputStream(saida, 8192) : saida;
+                Writer escritor = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8));
+                if (csv) {
+                    escritor.write(CABECALHO_CSV);
+                    escritor.write('\n');
+                }
+                adocaoService.percorrerHistorico(filtro, csv ? escreverCsv(escritor) : escreverNdjson(escritor));
+                escritor.flush();
+                if (gzip) {
+                    ((GZIPOutputStream) destino).finish();
+                }
+            } finally {
+                limiteExportacoes.finalizar();
+            }
+        };
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "adocoes.csv" : "adocoes.ndjson")
+                        .build()
+                        .toString());
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(corpo);
+    }
+
+    private Consumer<AdocaoExportadaDto> escreverNdjson(Writer escritor) {
+        // sem flush a cada linha: o BufferedWriter decide quando enviar um novo bloco da resposta
+        ObjectWriter writer = objectMapper
+                .writerFor(AdocaoExportadaDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        return adocao -> {
+            try {
+                writer.writeValue(escritor, adocao);
+                escritor.write('\n');
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        };
+    }
+
+    private Consumer<AdocaoExportadaDto> escreverCsv(Writer escritor) {
+        return adocao -> {
+            try {
+                escritor.write(adocao.id().toString());
+                escritor.write(',');
+                escritor.write(adocao.data().toString());
+                escritor.write(',');
+                escritor.write(adocao.status().name());
+                escritor.write(',');
+                escritor.write(campoCsv(adocao.tutor()));
+                escritor.write(',');
+                escritor.write(campoCsv(adocao.pet()));
+                escritor.write(',');
+                escritor.write(campoCsv(adocao.abrigo()));
+                escritor.write(',');
+                escritor.write(campoCsv(adocao.motivo()));
+                escritor.write(',');
+                escritor.write(campoCsv(adocao.justificativaStatus()));
+                escritor.write('\n');
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        };
+    }
+
+    private String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
     }
 
 }
@@ -1,26 +1,134 @@
 package br.com.alura.adopet.api.controller;
 
+import br.com.alura.adopet.api.dto.FacetasPetsDto;
+import br.com.alura.adopet.api.dto.FiltroBuscaPetDto;
+import br.com.alura.adopet.api.dto.FiltroFacetasPetDto;
+import br.com.alura.adopet.api.dto.OrdenacaoBuscaPet;
+import br.com.alura.adopet.api.dto.PaginaPetsDto;
 import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
 import br.com.alura.adopet.api.service.PetService;
+import br.com.alura.adopet.api.service.VersoesListagens;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/pets")
 public class PetController {
 
+    private static final int LIMITE_MAXIMO = 100;
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     @Autowired
     private PetService service;
 
+    @Autowired
+    private VersoesListagens versoesListagens;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public ResponseEntity<List<PetDto>> listarTodosDisponiveis() {
-        List<PetDto> pets = service.buscarPetsDisponiveis();
-        return ResponseEntity.ok(pets);
+    public ResponseEntity<List<PetDto>> listarTodosDisponiveis(@RequestParam(name = "after", defaultValue = "0") Long aposId,
+                                                               @RequestParam(name = "limit", defaultValue = "20") int limite,
+                                                               @RequestParam(name = "probabilidade", required = false) ProbabilidadeAdocao probabilidade,
+                                                               WebRequest request) {
+        String etag = versoesListagens.etagGlobal();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        int limiteAjustado = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        List<PetDto> pets = probabilidade == null
+                ? service.buscarPetsDisponiveis(aposId, limiteAjustado)
+                : service.buscarPetsDisponiveis(probabilidade, aposId, limiteAjustado);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(pets);
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<PaginaPetsDto> buscar(FiltroBuscaPetDto filtro,
+                                                @RequestParam(name = "ordenacao", defaultValue = "ID") OrdenacaoBuscaPet ordenacao,
+                                                @RequestParam(name = "after", required = false) String cursor,
+                                                @RequestParam(name = "limit", defaultValue = "20") int limite,
+                                                WebRequest request) {
+        String etag = versoesListagens.etagGlobal();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        try {
+            int limiteAjustado = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+            PaginaPetsDto pagina = service.buscarPets(filtro, ordenacao, cursor, limiteAjustado);
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(pagina);
+        } catch (ValidacaoException exception) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/facetas")
+    public ResponseEntity<FacetasPetsDto> buscarPorFacetas(FiltroFacetasPetDto filtro,
+                                                           @RequestParam(name = "after", defaultValue = "0") Long aposId,
+                                                           @RequestParam(name = "limit", defaultValue = "20") int limite,
+                                                           WebRequest request) {
+        // o índice usa o id do pet como posição do bitmap, então o cursor precisa caber em um int
+        if (aposId < 0 || aposId >= Integer.MAX_VALUE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String etag = service.etagFacetas();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        try {
+            int limiteAjustado = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+            FacetasPetsDto facetas = service.buscarPorFacetas(filtro, aposId, limiteAjustado);
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(facetas);
+        } catch (ValidacaoException exception) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportarTodosDisponiveis() {
+        // sem flush a cada pet: o BufferedOutputStream decide quando enviar um novo bloco da resposta
+        ObjectWriter writer = objectMapper
+                .writerFor(PetDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        StreamingResponseBody corpo = saida -> {
+            OutputStream destino = new BufferedOutputStream(saida);
+            service.percorrerPetsDisponiveis(pet -> {
+                try {
+                    writer.writeValue(destino, pet);
+                    destino.write('\n');
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+            destino.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(corpo);
     }
 
 }
@@ -0,0 +1,15 @@
+package br.com.alura.adopet.api.dto;
+
+import br.com.alura.adopet.api.model.StatusAdocao;
+
+import java.time.LocalDateTime;
+
+public record AdocaoExportadaDto(Long id,
+                                 LocalDateTime data,
+                                 StatusAdocao status,
+                                 String tutor,
+                                 String pet,
+                                 String abrigo,
+                                 String motivo,
+                                 String justificativaStatus) {
+}
@@ -0,0 +1,38 @@
+package br.com.alura.adopet.api.dto;
+
+import br.com.alura.adopet.api.exception.ValidacaoException;
+
+/**
+ * Posição do último pet devolvido numa página da busca.
+ * Na ordenação por id o cursor é apenas o id; na ordenação por idade é "idade:id",
+ * já que vários pets podem ter a mesma idade e o id desempata.
+ */
+public record CursorBuscaPetDto(Integer idade, Long id) {
+
+    public static CursorBuscaPetDto inicio() {
+        return new CursorBuscaPetDto(null, 0L);
+    }
+
+    public static CursorBuscaPetDto ler(String valor, OrdenacaoBuscaPet ordenacao) {
+        if (valor == null || valor.isBlank()) {
+            return inicio();
+        }
+
+        try {
+            if (ordenacao == OrdenacaoBuscaPet.ID) {
+                return new CursorBuscaPetDto(null, Long.parseLong(valor));
+            }
+            String[] partes = valor.split(":", 2);
+            return new CursorBuscaPetDto(Integer.parseInt(partes[0]), Long.parseLong(partes[1]));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException exception) {
+            throw new ValidacaoException("Cursor de busca inválido");
+        }
+    }
+
+    public static String escrever(PetDto ultimo, OrdenacaoBuscaPet ordenacao) {
+        return ordenacao == OrdenacaoBuscaPet.ID
+                ? ultimo.id().toString()
+                : ultimo.idade() + ":" + ultimo.id();
+    }
+
+}
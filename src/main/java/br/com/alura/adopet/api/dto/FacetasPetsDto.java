@@ -0,0 +1,16 @@
+package br.com.alura.adopet.api.dto;
+
+import br.com.alura.adopet.api.model.TipoPet;
+
+import java.util.List;
+import java.util.Map;
+
+public record FacetasPetsDto(int total,
+                             List<PetDto> pets,
+                             Long proximo,
+                             Map<TipoPet, Integer> tipos,
+                             Map<FaixaIdade, Integer> faixasIdade,
+                             Map<FaixaPeso, Integer> faixasPeso,
+                             Map<String, Integer> cores,
+                             Map<Long, Integer> abrigos) {
+}
@@ -0,0 +1,23 @@
+package br.com.alura.adopet.api.dto;
+
+public enum FaixaIdade {
+
+    FILHOTE,
+    JOVEM,
+    ADULTO,
+    IDOSO;
+
+    public static FaixaIdade de(int idade) {
+        if (idade < 2) {
+            return FILHOTE;
+        }
+        if (idade < 5) {
+            return JOVEM;
+        }
+        if (idade < 9) {
+            return ADULTO;
+        }
+        return IDOSO;
+    }
+
+}
@@ -0,0 +1,19 @@
+package br.com.alura.adopet.api.dto;
+
+public enum FaixaPeso {
+
+    ATE_5_KG,
+    DE_5_A_15_KG,
+    ACIMA_DE_15_KG;
+
+    public static FaixaPeso de(float peso) {
+        if (peso < 5) {
+            return ATE_5_KG;
+        }
+        if (peso < 15) {
+            return DE_5_A_15_KG;
+        }
+        return ACIMA_DE_15_KG;
+    }
+
+}
@@ -0,0 +1,13 @@
+package br.com.alura.adopet.api.dto;
+
+import br.com.alura.adopet.api.model.TipoPet;
+
+public record FiltroBuscaPetDto(TipoPet tipo,
+                                Integer idadeMinima,
+                                Integer idadeMaxima,
+                                Float pesoMinimo,
+                                Float pesoMaximo,
+                                String cor,
+                                String raca,
+                                String texto) {
+}
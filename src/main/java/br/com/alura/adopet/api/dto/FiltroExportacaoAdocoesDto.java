@@ -0,0 +1,12 @@
+package br.com.alura.adopet.api.dto;
+
+import br.com.alura.adopet.api.model.StatusAdocao;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public record FiltroExportacaoAdocoesDto(@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+                                         StatusAdocao status,
+                                         Long since) {
+}
@@ -0,0 +1,6 @@
+package br.com.alura.adopet.api.dto;
+
+import br.com.alura.adopet.api.model.TipoPet;
+
+public record FiltroFacetasPetDto(TipoPet tipo, FaixaIdade faixaIdade, FaixaPeso faixaPeso, String cor, Long abrigo) {
+}
@@ -0,0 +1,4 @@
+package br.com.alura.adopet.api.dto;
+
+public record MensagemEmailDto(String destinatario, String assunto, String mensagem) {
+}
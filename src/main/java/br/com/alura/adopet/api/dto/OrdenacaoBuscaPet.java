@@ -0,0 +1,8 @@
+package br.com.alura.adopet.api.dto;
+
+public enum OrdenacaoBuscaPet {
+
+    ID,
+    IDADE
+
+}
@@ -0,0 +1,6 @@
+package br.com.alura.adopet.api.dto;
+
+import java.util.List;
+
+public record PaginaPetsDto(List<PetDto> pets, String proximo) {
+}
@@ -1,12 +1,13 @@
 package br.com.alura.adopet.api.dto;
 
 import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
 import br.com.alura.adopet.api.model.TipoPet;
 
-public record PetDto(Long id, TipoPet tipo, String nome, String raca, Integer idade) {
+public record PetDto(Long id, TipoPet tipo, String nome, String raca, Integer idade, ProbabilidadeAdocao probabilidadeAdocao) {
 
     public PetDto(Pet pet) {
-        this(pet.getId(), pet.getTipo(), pet.getNome(), pet.getRaca(), pet.getIdade());
+        this(pet.getId(), pet.getTipo(), pet.getNome(), pet.getRaca(), pet.getIdade(), pet.getProbabilidadeAdocao());
     }
 
 }
@@ -0,0 +1,19 @@
+package br.com.alura.adopet.api.dto;
+
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+
+public record PetIndexadoDto(Long id, TipoPet tipo, String nome, String raca, Integer idade, ProbabilidadeAdocao probabilidadeAdocao,
+                             String cor, Float peso, Long idAbrigo) {
+
+    public PetIndexadoDto(Pet pet) {
+        this(pet.getId(), pet.getTipo(), pet.getNome(), pet.getRaca(), pet.getIdade(), pet.getProbabilidadeAdocao(),
+                pet.getCor(), pet.getPeso(), pet.getAbrigo().getId());
+    }
+
+    public PetDto paraPetDto() {
+        return new PetDto(id, tipo, nome, raca, idade, probabilidadeAdocao);
+    }
+
+}
@@ -0,0 +1,15 @@
+package br.com.alura.adopet.api.dto;
+
+import java.util.List;
+
+public record ResultadoCadastroPetDto(int indice, boolean cadastrado, List<String> erros) {
+
+    public static ResultadoCadastroPetDto sucesso(int indice) {
+        return new ResultadoCadastroPetDto(indice, true, List.of());
+    }
+
+    public static ResultadoCadastroPetDto falha(int indice, List<String> erros) {
+        return new ResultadoCadastroPetDto(indice, false, erros);
+    }
+
+}
@@ -2,10 +2,14 @@ package br.com.alura.adopet.api.model;
 
 import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "abrigos")
 @Table(name = "abrigos")
 public class Abrigo {
 
@@ -18,7 +18,7 @@ public class Adocao {
     @ManyToOne(fetch = FetchType.LAZY)
     private Tutor tutor;
 
-    @OneToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY)
     private Pet pet;
 
     private String motivo;
@@ -0,0 +1,93 @@
+package br.com.alura.adopet.api.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "email_outbox")
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String destinatario;
+
+    private String assunto;
+
+    private String mensagem;
+
+    private LocalDateTime dataCriacao;
+
+    private LocalDateTime dataEnvio;
+
+    private int tentativas;
+
+    // nula quando o email deixou de ser tentado após atingir o máximo de tentativas
+    private LocalDateTime proximaTentativa;
+
+    public EmailOutbox() {
+    }
+
+    public EmailOutbox(String destinatario, String assunto, String mensagem) {
+        this.destinatario = destinatario;
+        this.assunto = assunto;
+        this.mensagem = mensagem;
+        this.dataCriacao = LocalDateTime.now();
+        this.proximaTentativa = this.dataCriacao;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EmailOutbox emailOutbox = (EmailOutbox) o;
+        return Objects.equals(id, emailOutbox.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    public String getAssunto() {
+        return assunto;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public LocalDateTime getDataEnvio() {
+        return dataEnvio;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public LocalDateTime getProximaTentativa() {
+        return proximaTentativa;
+    }
+
+    // conta a tentativa já na reserva, para que um envio interrompido por queda do processo também seja contado
+    public void reservar(LocalDateTime reservadoAte) {
+        this.tentativas++;
+        this.proximaTentativa = reservadoAte;
+    }
+
+}
@@ -3,6 +3,8 @@ package br.com.alura.adopet.api.model;
 import br.com.alura.adopet.api.dto.CadastroPetDto;
 import jakarta.persistence.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 @Entity
@@ -28,15 +30,18 @@ public class Pet {
 
     private Boolean adotado;
 
+    @Enumerated(EnumType.STRING)
+    private ProbabilidadeAdocao probabilidadeAdocao;
+
     @ManyToOne(fetch = FetchType.LAZY)
     private Abrigo abrigo;
 
-    @OneToOne(mappedBy = "pet", fetch = FetchType.LAZY)
-    private Adocao adocao;
+    @OneToMany(mappedBy = "pet")
+    private List<Adocao> adocoes = new ArrayList<>();
 
     public Pet(){}
 
-    public Pet(CadastroPetDto dto, Abrigo abrigo) {
+    public Pet(CadastroPetDto dto, Abrigo abrigo, ProbabilidadeAdocao probabilidadeAdocao) {
         this.tipo = dto.tipo();
         this.nome = dto.nome();
         this.raca = dto.raca();
@@ -45,6 +50,7 @@ public class Pet {
         this.peso = dto.peso();
         this.abrigo = abrigo;
         this.adotado = false;
+        this.probabilidadeAdocao = probabilidadeAdocao;
     }
 
     @Override
@@ -96,12 +102,20 @@ public class Pet {
         return adotado;
     }
 
+    public ProbabilidadeAdocao getProbabilidadeAdocao() {
+        return probabilidadeAdocao;
+    }
+
     public Abrigo getAbrigo() {
         return abrigo;
     }
 
-    public Adocao getAdocao() {
-        return adocao;
+    public List<Adocao> getAdocoes() {
+        return adocoes;
+    }
+
+    public void marcarComoAdotado() {
+        this.adotado = true;
     }
 
 }
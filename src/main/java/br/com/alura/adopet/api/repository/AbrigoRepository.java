@@ -2,13 +2,22 @@ package br.com.alura.adopet.api.repository;
 
 import br.com.alura.adopet.api.model.Abrigo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
 public interface AbrigoRepository extends JpaRepository<Abrigo, Long> {
 
-    Optional<Abrigo> findByNome(String nome);
+    @Query("select a.id from Abrigo a where a.nome = :nome")
+    Optional<Long> buscarIdPorNome(String nome);
 
+    @Query("""
+            select case when
+                exists (select 1 from Abrigo a where a.nome = :nome)
+                or exists (select 1 from Abrigo a where a.telefone = :telefone)
+                or exists (select 1 from Abrigo a where a.email = :email)
+            then true else false end
+            """)
     boolean existsByNomeOrTelefoneOrEmail(String nome, String telefone, String email);
 
 }
@@ -0,0 +1,84 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.AdocaoExportadaDto;
+import br.com.alura.adopet.api.dto.FiltroExportacaoAdocoesDto;
+import br.com.alura.adopet.api.model.StatusAdocao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+public class AdocaoJdbcRepository {
+
+    private static final String SELECT_HISTORICO = """
+            select a.id, a.data, a.status, t.nome as tutor, p.nome as pet, ab.nome as abrigo, a.motivo, a.justificativa_status
+            from adocoes a
+            join tutores t on t.id = a.tutor_id
+            join pets p on p.id = a.pet_id
+            join abrigos ab on ab.id = p.abrigo_id
+            where a.id > ?
+            """;
+
+    private static final int TAMANHO_LOTE_LEITURA = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Percorre o histórico de adoções em ordem de id, entregando uma linha por vez ao consumidor.
+     * O cursor é somente de avanço e, no MySQL, usa fetchSize Integer.MIN_VALUE para que o driver
+     * traga as linhas do servidor sob demanda em vez de carregar o resultado inteiro em memória.
+     * Nesse modo o driver eleva o net_write_timeout da sessão para netTimeoutForStreamingResults (600 s por padrão)
+     * e o restaura ao fim, então só um cliente parado por mais tempo que isso interrompe a exportação.
+     */
+    public void percorrerHistorico(FiltroExportacaoAdocoesDto filtro, Consumer<AdocaoExportadaDto> consumidor) {
+        StringBuilder sql = new StringBuilder(SELECT_HISTORICO);
+        List<Object> parametros = new ArrayList<>();
+        parametros.add(filtro.since() == null ? 0L : filtro.since());
+        if (filtro.inicio() != null) {
+            sql.append(" and a.data >= ?");
+            parametros.add(filtro.inicio());
+        }
+        if (filtro.fim() != null) {
+            sql.append(" and a.data < ?");
+            parametros.add(filtro.fim());
+        }
+        if (filtro.status() != null) {
+            sql.append(" and a.status = ?");
+            parametros.add(filtro.status().name());
+        }
+        sql.append(" order by a.id");
+
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(isMySql(conexao) ? Integer.MIN_VALUE : TAMANHO_LOTE_LEITURA);
+            for (int i = 0; i < parametros.size(); i++) {
+                ps.setObject(i + 1, parametros.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumidor.accept(new AdocaoExportadaDto(
+                rs.getLong("id"),
+                rs.getObject("data", LocalDateTime.class),
+                StatusAdocao.valueOf(rs.getString("status")),
+                rs.getString("tutor"),
+                rs.getString("pet"),
+                rs.getString("abrigo"),
+                rs.getString("motivo"),
+                rs.getString("justificativa_status"))));
+    }
+
+    private boolean isMySql(Connection conexao) throws SQLException {
+        return "MySQL".equalsIgnoreCase(conexao.getMetaData().getDatabaseProductName());
+    }
+
+}
@@ -2,10 +2,44 @@ package br.com.alura.adopet.api.repository;
 
 import br.com.alura.adopet.api.model.Adocao;
 import br.com.alura.adopet.api.model.StatusAdocao;
+import br.com.alura.adopet.api.validacoes.ElegibilidadeAdocao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
 
 public interface AdocaoRepository extends JpaRepository<Adocao, Long> {
 
     boolean existsByPetIdAndStatus(Long idPet, StatusAdocao status);
 
+    boolean existsByTutorIdAndStatus(Long idTutor, StatusAdocao status);
+
+    long countByTutorIdAndStatus(Long idTutor, StatusAdocao status);
+
+    @Query("""
+            select new br.com.alura.adopet.api.validacoes.ElegibilidadeAdocao(
+                p.adotado,
+                case when exists (
+                    select 1 from Adocao a where a.pet.id = p.id and a.status = AGUARDANDO_AVALIACAO
+                ) then true else false end,
+                (select count(a) from Adocao a where a.tutor.id = :idTutor and a.status = AGUARDANDO_AVALIACAO),
+                (select count(a) from Adocao a where a.tutor.id = :idTutor and a.status = APROVADO),
+                p.nome,
+                ab.nome,
+                ab.email)
+            from Pet p
+            join p.abrigo ab
+            where p.id = :idPet
+            """)
+    Optional<ElegibilidadeAdocao> carregarElegibilidade(Long idPet, Long idTutor);
+
+    @Query("""
+            select a from Adocao a
+            join fetch a.pet p
+            join fetch p.abrigo
+            join fetch a.tutor
+            where a.id = :id
+            """)
+    Optional<Adocao> carregarParaAvaliacao(Long id);
+
 }
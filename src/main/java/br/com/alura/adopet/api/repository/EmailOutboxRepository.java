@@ -0,0 +1,33 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.model.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query(value = """
+            select * from email_outbox
+            where data_envio is null and proxima_tentativa <= :agora
+            order by proxima_tentativa, id
+            limit :limite
+            for update skip locked
+            """, nativeQuery = true)
+    List<EmailOutbox> reservarPendentes(LocalDateTime agora, int limite);
+
+    @Transactional
+    @Modifying
+    @Query("update EmailOutbox e set e.dataEnvio = :dataEnvio where e.id in :ids")
+    void marcarComoEnviados(List<Long> ids, LocalDateTime dataEnvio);
+
+    @Transactional
+    @Modifying
+    @Query("update EmailOutbox e set e.proximaTentativa = :proximaTentativa where e.id = :id")
+    void reagendar(Long id, LocalDateTime proximaTentativa);
+
+}
@@ -0,0 +1,54 @@
+package br.com.alura.adopet.api.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+/**
+ * Registra a função relevancia_texto(nome, raca, palavra) usada na busca de pets.
+ * No MySQL ela usa o índice full-text de nome/raca (match ... against em boolean mode) e encontra as palavras
+ * de nome ou raça que começam com a palavra buscada; palavras vazias do MySQL (stopwords) não encontram nada.
+ * Nos demais bancos, como o H2 dos testes, cai para uma busca por substring, que devolve zero quando não encontra a palavra.
+ * A função recebe uma palavra por vez, já separada por {@link #palavras(String)}: o texto digitado nunca chega
+ * ao against, então operadores do boolean mode como + - @ * " ( ) não causam erro de sintaxe no MySQL.
+ */
+public class FuncoesBuscaPet implements FunctionContributor {
+
+    static final int MAXIMO_PALAVRAS = 5;
+
+    private static final Pattern PALAVRA = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    @Override
+    public void contributeFunctions(FunctionContributions funcoes) {
+        funcoes.getFunctionRegistry().registerPattern(
+                "relevancia_texto",
+                padrao(funcoes.getDialect()),
+                funcoes.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+    }
+
+    static String padrao(Dialect dialeto) {
+        return dialeto instanceof MySQLDialect
+                ? "match(?1, ?2) against (concat(?3, '*') in boolean mode)"
+                : "locate(lower(?3), lower(concat(?1, ' ', ?2)))";
+    }
+
+    // só letras e dígitos formam palavras, como no parser full-text do MySQL; o restante é tratado como separador
+    static List<String> palavras(String texto) {
+        if (texto == null) {
+            return List.of();
+        }
+
+        return PALAVRA.matcher(texto).results()
+                .map(MatchResult::group)
+                .distinct()
+                .limit(MAXIMO_PALAVRAS)
+                .toList();
+    }
+
+}
@@ -0,0 +1,96 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.CursorBuscaPetDto;
+import br.com.alura.adopet.api.dto.FiltroBuscaPetDto;
+import br.com.alura.adopet.api.dto.OrdenacaoBuscaPet;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.model.Pet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Busca de pets disponíveis com filtros opcionais, montada com Criteria para que apenas
+ * os filtros informados entrem no SQL e o banco possa escolher o índice adequado
+ * (idx_pets_adotado_tipo_idade, idx_pets_adotado_id ou o full-text de nome/raca no MySQL).
+ */
+@Repository
+public class PetBuscaRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public List<PetDto> buscar(FiltroBuscaPetDto filtro, OrdenacaoBuscaPet ordenacao, CursorBuscaPetDto apos, int limite) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<PetDto> query = cb.createQuery(PetDto.class);
+        Root<Pet> pet = query.from(Pet.class);
+
+        List<Predicate> condicoes = new ArrayList<>();
+        condicoes.add(cb.equal(pet.get("adotado"), false));
+        if (filtro.tipo() != null) {
+            condicoes.add(cb.equal(pet.get("tipo"), filtro.tipo()));
+        }
+        if (filtro.idadeMinima() != null) {
+            condicoes.add(cb.ge(pet.get("idade"), filtro.idadeMinima()));
+        }
+        if (filtro.idadeMaxima() != null) {
+            condicoes.add(cb.le(pet.get("idade"), filtro.idadeMaxima()));
+        }
+        if (filtro.pesoMinimo() != null) {
+            condicoes.add(cb.ge(pet.get("peso"), filtro.pesoMinimo()));
+        }
+        if (filtro.pesoMaximo() != null) {
+            condicoes.add(cb.le(pet.get("peso"), filtro.pesoMaximo()));
+        }
+        if (filtro.cor() != null && !filtro.cor().isBlank()) {
+            condicoes.add(cb.equal(pet.get("cor"), filtro.cor()));
+        }
+        if (filtro.raca() != null && !filtro.raca().isBlank()) {
+            condicoes.add(cb.equal(pet.get("raca"), filtro.raca()));
+        }
+        boolean buscaPorTexto = filtro.texto() != null && !filtro.texto().isBlank();
+        List<String> palavras = FuncoesBuscaPet.palavras(filtro.texto());
+        if (buscaPorTexto && palavras.isEmpty()) {
+            // texto sem nenhuma letra ou dígito, como "@@" ou "+-", não encontra nenhum pet
+            return List.of();
+        }
+        // cada palavra precisa aparecer no nome ou na raça
+        for (int i = 0; i < palavras.size(); i++) {
+            condicoes.add(cb.gt(
+                    cb.function("relevancia_texto", Double.class, pet.get("nome"), pet.get("raca"), cb.parameter(String.class, "palavra" + i)),
+                    0.0));
+        }
+
+        if (ordenacao == OrdenacaoBuscaPet.IDADE) {
+            if (apos.idade() != null) {
+                // keyset por (idade, id): continua na mesma idade depois do último id ou nas idades seguintes
+                condicoes.add(cb.or(
+                        cb.gt(pet.get("idade"), apos.idade()),
+                        cb.and(cb.equal(pet.get("idade"), apos.idade()), cb.gt(pet.get("id"), apos.id()))));
+            }
+            query.orderBy(cb.asc(pet.get("idade")), cb.asc(pet.get("id")));
+        } else {
+            condicoes.add(cb.gt(pet.get("id"), apos.id()));
+            query.orderBy(cb.asc(pet.get("id")));
+        }
+
+        query.select(cb.construct(PetDto.class,
+                        pet.get("id"), pet.get("tipo"), pet.get("nome"), pet.get("raca"), pet.get("idade"), pet.get("probabilidadeAdocao")))
+                .where(condicoes.toArray(Predicate[]::new));
+
+        TypedQuery<PetDto> consulta = em.createQuery(query).setMaxResults(limite);
+        for (int i = 0; i < palavras.size(); i++) {
+            consulta.setParameter("palavra" + i, palavras.get(i));
+        }
+        return consulta.getResultList();
+    }
+
+}
@@ -0,0 +1,146 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.PetIndexadoDto;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.service.CalculadoraProbabilidadeAdocao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public class PetJdbcRepository {
+
+    private static final String INSERT = """
+            insert into pets(tipo, nome, raca, idade, cor, peso, abrigo_id, adotado, probabilidade_adocao)
+            values (?, ?, ?, ?, ?, ?, ?, false, ?)
+            """;
+
+    private static final String SELECT_RECLASSIFICACAO = """
+            select id, tipo, idade, peso, abrigo_id, probabilidade_adocao from pets
+            where adotado = false and id > ?
+            order by id
+            limit ?
+            """;
+
+    private static final String UPDATE_PROBABILIDADE = "update pets set probabilidade_adocao = ? where id = ?";
+
+    private static final ProbabilidadeAdocao[] PROBABILIDADES = ProbabilidadeAdocao.values();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // devolve os pets inseridos, com os ids gerados, na mesma ordem da lista recebida
+    public List<PetIndexadoDto> inserirEmLote(Abrigo abrigo, List<CadastroPetDto> pets, CalculadoraProbabilidadeAdocao calculadora) {
+        return jdbcTemplate.execute((ConnectionCallback<List<PetIndexadoDto>>) conexao -> {
+            List<ProbabilidadeAdocao> probabilidades = new ArrayList<>(pets.size());
+            try (PreparedStatement ps = conexao.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                for (CadastroPetDto dto : pets) {
+                    ProbabilidadeAdocao probabilidade = calculadora.calcular(dto.tipo(), dto.idade(), dto.peso());
+                    probabilidades.add(probabilidade);
+                    ps.setString(1, dto.tipo().name());
+                    ps.setString(2, dto.nome());
+                    ps.setString(3, dto.raca());
+                    ps.setInt(4, dto.idade());
+                    ps.setString(5, dto.cor());
+                    ps.setFloat(6, dto.peso());
+                    ps.setLong(7, abrigo.getId());
+                    ps.setString(8, probabilidade.name());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<PetIndexadoDto> inseridos = new ArrayList<>(pets.size());
+                try (ResultSet chaves = ps.getGeneratedKeys()) {
+                    while (chaves.next()) {
+                        CadastroPetDto dto = pets.get(inseridos.size());
+                        inseridos.add(new PetIndexadoDto(chaves.getLong(1), dto.tipo(), dto.nome(), dto.raca(), dto.idade(),
+                                probabilidades.get(inseridos.size()), dto.cor(), dto.peso(), abrigo.getId()));
+                    }
+                }
+                return inseridos;
+            }
+        });
+    }
+
+    /**
+     * Recalcula a probabilidade de adoção gravada de todos os pets disponíveis, em blocos percorridos pelo id.
+     * Cada bloco é lido em colunas, classificado pela versão em lote da calculadora e só as linhas cuja
+     * probabilidade mudou são atualizadas. Devolve os ids dos abrigos que tiveram algum pet reclassificado.
+     */
+    public Set<Long> reclassificarProbabilidades(CalculadoraProbabilidadeAdocao calculadora, int tamanhoBloco) {
+        BlocoReclassificacao bloco = new BlocoReclassificacao(tamanhoBloco);
+        Set<Long> abrigosAlterados = new HashSet<>();
+        long ultimoId = 0;
+        do {
+            bloco.quantidade = 0;
+            jdbcTemplate.query(SELECT_RECLASSIFICACAO, bloco, ultimoId, tamanhoBloco);
+            if (bloco.quantidade == 0) {
+                break;
+            }
+
+            calculadora.calcular(bloco.tipos, bloco.idades, bloco.pesos, bloco.quantidade, bloco.novas);
+            List<Object[]> alteracoes = new ArrayList<>();
+            for (int i = 0; i < bloco.quantidade; i++) {
+                if (bloco.novas[i] != bloco.atuais[i]) {
+                    alteracoes.add(new Object[]{PROBABILIDADES[bloco.novas[i]].name(), bloco.ids[i]});
+                    abrigosAlterados.add(bloco.abrigos[i]);
+                }
+            }
+            if (!alteracoes.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_PROBABILIDADE, alteracoes);
+            }
+            ultimoId = bloco.ids[bloco.quantidade - 1];
+        } while (bloco.quantidade == tamanhoBloco);
+        return abrigosAlterados;
+    }
+
+    // colunas de um bloco da reclassificação, reaproveitadas entre os blocos
+    private static class BlocoReclassificacao implements RowCallbackHandler {
+
+        private final long[] ids;
+        private final byte[] tipos;
+        private final int[] idades;
+        private final float[] pesos;
+        private final long[] abrigos;
+        private final byte[] atuais;
+        private final byte[] novas;
+        private int quantidade;
+
+        BlocoReclassificacao(int tamanho) {
+            ids = new long[tamanho];
+            tipos = new byte[tamanho];
+            idades = new int[tamanho];
+            pesos = new float[tamanho];
+            abrigos = new long[tamanho];
+            atuais = new byte[tamanho];
+            novas = new byte[tamanho];
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            ids[quantidade] = rs.getLong("id");
+            tipos[quantidade] = (byte) TipoPet.valueOf(rs.getString("tipo")).ordinal();
+            idades[quantidade] = rs.getInt("idade");
+            pesos[quantidade] = rs.getFloat("peso");
+            abrigos[quantidade] = rs.getLong("abrigo_id");
+            atuais[quantidade] = (byte) ProbabilidadeAdocao.valueOf(rs.getString("probabilidade_adocao")).ordinal();
+            quantidade++;
+        }
+
+    }
+
+}
@@ -1,14 +1,46 @@
 package br.com.alura.adopet.api.repository;
 
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.PetIndexadoDto;
 import br.com.alura.adopet.api.model.Abrigo;
 import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface PetRepository extends JpaRepository<Pet, Long> {
 
-    List<Pet> findAllByAdotadoFalse();
+    @Query("""
+            select new br.com.alura.adopet.api.dto.PetDto(p.id, p.tipo, p.nome, p.raca, p.idade, p.probabilidadeAdocao)
+            from Pet p
+            where p.adotado = false and p.id > :aposId
+            order by p.id
+            """)
+    List<PetDto> listarDisponiveis(Long aposId, Pageable pageable);
 
-    List<Pet> findByAbrigo(Abrigo abrigo);
+    @Query("""
+            select new br.com.alura.adopet.api.dto.PetDto(p.id, p.tipo, p.nome, p.raca, p.idade, p.probabilidadeAdocao)
+            from Pet p
+            where p.adotado = false and p.probabilidadeAdocao = :probabilidade and p.id > :aposId
+            order by p.id
+            """)
+    List<PetDto> listarDisponiveisPorProbabilidade(ProbabilidadeAdocao probabilidade, Long aposId, Pageable pageable);
+
+    @Query("""
+            select new br.com.alura.adopet.api.dto.PetDto(p.id, p.tipo, p.nome, p.raca, p.idade, p.probabilidadeAdocao)
+            from Pet p
+            where p.abrigo = :abrigo
+            """)
+    List<PetDto> listarPorAbrigo(Abrigo abrigo);
+
+    @Query("""
+            select new br.com.alura.adopet.api.dto.PetIndexadoDto(p.id, p.tipo, p.nome, p.raca, p.idade, p.probabilidadeAdocao, p.cor, p.peso, p.abrigo.id)
+            from Pet p
+            where p.adotado = false and p.id > :aposId
+            order by p.id
+            """)
+    List<PetIndexadoDto> listarDisponiveisParaIndice(Long aposId, Pageable pageable);
 }
@@ -2,9 +2,16 @@ package br.com.alura.adopet.api.repository;
 
 import br.com.alura.adopet.api.model.Tutor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface TutorRepository extends JpaRepository<Tutor, Long> {
 
+    @Query("""
+            select case when
+                exists (select 1 from Tutor t where t.telefone = :telefone)
+                or exists (select 1 from Tutor t where t.email = :email)
+            then true else false end
+            """)
     boolean existsByTelefoneOrEmail(String telefone, String email);
 
 }
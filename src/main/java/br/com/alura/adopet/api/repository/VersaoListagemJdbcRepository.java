@@ -0,0 +1,51 @@
+package br.com.alura.adopet.api.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class VersaoListagemJdbcRepository {
+
+    private static final String INCREMENTAR = "update versoes_listagens set versao = versao + 1 where chave = ?";
+
+    private static final String INSERIR = "insert into versoes_listagens(chave, versao) values (?, 1)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public long buscar(String chave) {
+        List<Long> versoes = jdbcTemplate.queryForList("select versao from versoes_listagens where chave = ?", Long.class, chave);
+        return versoes.isEmpty() ? 0 : versoes.get(0);
+    }
+
+    public Map<String, Long> buscarTodas() {
+        Map<String, Long> versoes = new HashMap<>();
+        jdbcTemplate.query("select chave, versao from versoes_listagens", resultado -> {
+            versoes.put(resultado.getString("chave"), resultado.getLong("versao"));
+        });
+        return versoes;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void incrementar(String chave) {
+        if (jdbcTemplate.update(INCREMENTAR, chave) > 0) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(INSERIR, chave);
+        } catch (DuplicateKeyException exception) {
+            // outra transação criou a versão desta chave ao mesmo tempo
+            jdbcTemplate.update(INCREMENTAR, chave);
+        }
+    }
+
+}
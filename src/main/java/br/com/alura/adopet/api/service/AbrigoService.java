@@ -22,6 +22,12 @@ public class AbrigoService {
     @Autowired
     private PetRepository petRepository;
 
+    @Autowired
+    private CacheAbrigos cacheAbrigos;
+
+    @Autowired
+    private VersoesListagens versoesListagens;
+
     public List<AbrigoDto> listar() {
         return abrigoRepository
                 .findAll()
@@ -38,28 +44,34 @@ public class AbrigoService {
         }
 
         abrigoRepository.save(new Abrigo(dto));
+        cacheAbrigos.invalidar();
+        versoesListagens.registrarAlteracao();
     }
 
     public List<PetDto> listarPetsDoAbrigo(String idOuNome) {
         Abrigo abrigo = carregarAbrigo(idOuNome);
 
-        return petRepository
-                .findByAbrigo(abrigo)
-                .stream()
-                .map(PetDto::new)
-                .toList();
+        return petRepository.listarPorAbrigo(abrigo);
     }
 
     public Abrigo carregarAbrigo(String idOuNome) {
         Optional<Abrigo> optional;
-        try {
-            Long id = Long.parseLong(idOuNome);
+        if (isId(idOuNome)) {
+            Long id = Long.valueOf(idOuNome);
             optional = abrigoRepository.findById(id);
-        } catch (NumberFormatException exception) {
-            optional = abrigoRepository.findByNome(idOuNome);
+        } else {
+            optional = cacheAbrigos.buscarIdPorNome(idOuNome, () -> abrigoRepository.buscarIdPorNome(idOuNome))
+                    .flatMap(abrigoRepository::findById);
         }
 
         return optional.orElseThrow(() -> new ValidacaoException("Abrigo não encontrado"));
     }
 
+    private boolean isId(String idOuNome) {
+        return idOuNome != null
+                && !idOuNome.isEmpty()
+                && idOuNome.length() < 19
+                && idOuNome.chars().allMatch(Character::isDigit);
+    }
+
 }
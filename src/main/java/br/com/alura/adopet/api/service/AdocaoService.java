@@ -1,27 +1,46 @@
 package br.com.alura.adopet.api.service;
 
+import br.com.alura.adopet.api.dto.AdocaoExportadaDto;
 import br.com.alura.adopet.api.dto.AprovacaoAdocaoDto;
+import br.com.alura.adopet.api.dto.FiltroExportacaoAdocoesDto;
 import br.com.alura.adopet.api.dto.ReprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Adocao;
+import br.com.alura.adopet.api.model.EmailOutbox;
 import br.com.alura.adopet.api.model.Pet;
 import br.com.alura.adopet.api.model.Tutor;
+import br.com.alura.adopet.api.repository.AdocaoJdbcRepository;
 import br.com.alura.adopet.api.repository.AdocaoRepository;
+import br.com.alura.adopet.api.repository.EmailOutboxRepository;
 import br.com.alura.adopet.api.repository.PetRepository;
 import br.com.alura.adopet.api.repository.TutorRepository;
+import br.com.alura.adopet.api.validacoes.ElegibilidadeAdocao;
 import br.com.alura.adopet.api.validacoes.ValidacaoSolicitacaoAdocao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class AdocaoService {
 
+    private static final String RESTRICAO_PET_AGUARDANDO_AVALIACAO = "uk_adocoes_pet_aguardando_avaliacao";
+
     @Autowired
     private AdocaoRepository repository;
 
+    @Autowired
+    private AdocaoJdbcRepository jdbcRepository;
+
     @Autowired
     private PetRepository petRepository;
 
@@ -29,44 +48,109 @@ public class AdocaoService {
     private TutorRepository tutorRepository;
 
     @Autowired
-    private EmailService emailService;
+    private EmailOutboxRepository emailOutboxRepository;
 
     @Autowired
     private List<ValidacaoSolicitacaoAdocao> validacoes;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private VersoesListagens versoesListagens;
+
+    @Autowired
+    private IndicePetsDisponiveis indicePetsDisponiveis;
+
+    @Transactional
     public void solicitar(SolicitacaoAdocaoDto dto) {
+        ElegibilidadeAdocao elegibilidade = repository
+                .carregarElegibilidade(dto.idPet(), dto.idTutor())
+                .orElseThrow(() -> rejeitar(new ValidacaoException("Pet não encontrado")));
+
+        validacoes.forEach(v -> validar(v, dto, elegibilidade));
+
         Pet pet = petRepository.getReferenceById(dto.idPet());
         Tutor tutor = tutorRepository.getReferenceById(dto.idTutor());
 
-        validacoes.forEach(v -> v.validar(dto));
-
         Adocao adocao = new Adocao(tutor, pet, dto.motivo());
-        repository.save(adocao);
-
-        emailService.enviarEmail(
-                adocao.getPet().getAbrigo().getEmail(),
+        try {
+            repository.save(adocao);
+        } catch (DataIntegrityViolationException exception) {
+            // Outra solicitação para o mesmo pet passou pelas validações ao mesmo tempo
+            if (violou(exception, RESTRICAO_PET_AGUARDANDO_AVALIACAO)) {
+                throw rejeitar(new ValidacaoException("Pet já está aguardando avaliação para ser adotado!"));
+            }
+            throw exception;
+        }
+
+        notificar(
+                elegibilidade.emailAbrigo(),
                 "Solicitação de adoção",
-                "Olá " +adocao.getPet().getAbrigo().getNome() +"!\n\nUma solicitação de adoção foi registrada hoje para o pet: " +adocao.getPet().getNome() +". \nFavor avaliar para aprovação ou reprovação.");
+                "Olá " +elegibilidade.nomeAbrigo() +"!\n\nUma solicitação de adoção foi registrada hoje para o pet: " +elegibilidade.nomePet() +". \nFavor avaliar para aprovação ou reprovação.");
     }
 
     public void aprovar(AprovacaoAdocaoDto dto) {
-        Adocao adocao = repository.getReferenceById(dto.idAdocao());
+        Adocao adocao = carregarParaAvaliacao(dto.idAdocao());
         adocao.marcarComoAprovada();
+        adocao.getPet().marcarComoAdotado();
+        versoesListagens.registrarAlteracao(adocao.getPet().getAbrigo().getId());
+        indicePetsDisponiveis.remover(adocao.getPet().getId());
 
-        emailService.enviarEmail(
+        notificar(
                 adocao.getPet().getAbrigo().getEmail(),
                 "Adoção aprovada",
                 "Parabéns " +adocao.getTutor().getNome() +"!\n\nSua adoção do pet " +adocao.getPet().getNome() +", solicitada em " +adocao.getData().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) +", foi aprovada.\nFavor entrar em contato com o abrigo " +adocao.getPet().getAbrigo().getNome() +" para agendar a busca do seu pet.");
     }
 
     public void reprovar(ReprovacaoAdocaoDto dto) {
-        Adocao adocao = repository.getReferenceById(dto.idAdocao());
+        Adocao adocao = carregarParaAvaliacao(dto.idAdocao());
         adocao.marcarComoReprovada(dto.justificativa());
 
-        emailService.enviarEmail(
+        notificar(
                 adocao.getPet().getAbrigo().getEmail(),
                 "Solicitação de adoção",
                 "Olá " +adocao.getTutor().getNome() +"!\n\nInfelizmente sua adoção do pet " +adocao.getPet().getNome() +", solicitada em " +adocao.getData().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) +", foi reprovada pelo abrigo " +adocao.getPet().getAbrigo().getNome() +" com a seguinte justificativa: " +adocao.getJustificativaStatus());
     }
 
+    public void percorrerHistorico(FiltroExportacaoAdocoesDto filtro, Consumer<AdocaoExportadaDto> consumidor) {
+        jdbcRepository.percorrerHistorico(filtro, consumidor);
+    }
+
+    private Adocao carregarParaAvaliacao(Long idAdocao) {
+        return repository
+                .carregarParaAvaliacao(idAdocao)
+                .orElseThrow(() -> new ValidacaoException("Adoção não encontrada"));
+    }
+
+    private void validar(ValidacaoSolicitacaoAdocao validacao, SolicitacaoAdocaoDto dto, ElegibilidadeAdocao elegibilidade) {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        String resultado = "aprovada";
+        try {
+            validacao.validar(dto, elegibilidade);
+        } catch (ValidacaoException exception) {
+            resultado = "rejeitada";
+            throw rejeitar(exception);
+        } finally {
+            amostra.stop(meterRegistry.timer("adopet.adocoes.validacoes",
+                    "validacao", ClassUtils.getUserClass(validacao).getSimpleName(),
+                    "resultado", resultado));
+        }
+    }
+
+    private ValidacaoException rejeitar(ValidacaoException exception) {
+        meterRegistry.counter("adopet.adocoes.rejeicoes", "motivo", exception.getMessage()).increment();
+        return exception;
+    }
+
+    private boolean violou(DataIntegrityViolationException exception, String restricao) {
+        return exception.getCause() instanceof ConstraintViolationException violacao
+                && violacao.getConstraintName() != null
+                && violacao.getConstraintName().toLowerCase().contains(restricao);
+    }
+
+    private void notificar(String destinatario, String assunto, String mensagem) {
+        emailOutboxRepository.save(new EmailOutbox(destinatario, assunto, mensagem));
+    }
+
 }
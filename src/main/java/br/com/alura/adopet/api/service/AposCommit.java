@@ -0,0 +1,24 @@
+package br.com.alura.adopet.api.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    static void executar(Runnable alteracao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    alteracao.run();
+                }
+            });
+        } else {
+            alteracao.run();
+        }
+    }
+
+}
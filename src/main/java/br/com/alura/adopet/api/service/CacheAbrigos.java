@@ -0,0 +1,56 @@
+package br.com.alura.adopet.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Guarda apenas o id de cada abrigo buscado pelo nome. A entidade continua sendo carregada com findById,
+ * que passa pela região "abrigos" do cache de segundo nível do Hibernate, então cada requisição recebe
+ * a sua própria instância gerenciada e nenhuma alteração vaza entre requisições.
+ */
+@Component
+public class CacheAbrigos {
+
+    private final Cache<String, Long> cache;
+
+    public CacheAbrigos(@Value("${adopet.abrigos.cache.tamanho-maximo}") long tamanhoMaximo,
+                        @Value("${adopet.abrigos.cache.expiracao}") Duration expiracao,
+                        MeterRegistry meterRegistry) {
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build(), "abrigos-por-nome");
+    }
+
+    public Optional<Long> buscarIdPorNome(String nome, Supplier<Optional<Long>> carregador) {
+        String chave = chave(nome);
+        Long emCache = cache.getIfPresent(chave);
+        if (emCache != null) {
+            return Optional.of(emCache);
+        }
+
+        Optional<Long> carregado = carregador.get();
+        carregado.ifPresent(id -> cache.put(chave, id));
+        return carregado;
+    }
+
+    public void invalidar() {
+        cache.invalidateAll();
+    }
+
+    // a collation do MySQL compara nomes sem diferenciar maiúsculas, então "abrigo feliz" encontra "Abrigo Feliz"
+    private String chave(String nome) {
+        return nome == null ? "" : nome.strip().toLowerCase(Locale.ROOT);
+    }
+
+}
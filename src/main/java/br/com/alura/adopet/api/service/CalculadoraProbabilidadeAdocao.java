@@ -6,43 +6,40 @@ import br.com.alura.adopet.api.model.TipoPet;
 
 public class CalculadoraProbabilidadeAdocao {
 
-    public ProbabilidadeAdocao calcular(Pet pet) {
-        int nota = calcularNota(pet);
+    private static final TabelaProbabilidadeAdocao TABELA_PADRAO = TabelaProbabilidadeAdocao.compilar(RegrasProbabilidadeAdocao.padrao());
 
-        if (nota >= 8) {
-            return ProbabilidadeAdocao.ALTA;
-        }
+    private final TabelaProbabilidadeAdocao tabela;
 
-        if (nota >= 5) {
-            return ProbabilidadeAdocao.MEDIA;
-        }
+    // usa as regras padrão; as regras carregadas de arquivo ficam em RegrasProbabilidadeAdocaoEmVigor
+    public CalculadoraProbabilidadeAdocao() {
+        this.tabela = TABELA_PADRAO;
+    }
 
-        return ProbabilidadeAdocao.BAIXA;
+    public CalculadoraProbabilidadeAdocao(RegrasProbabilidadeAdocao regras) {
+        this.tabela = TabelaProbabilidadeAdocao.compilar(regras);
     }
 
-    private int calcularNota(Pet pet) {
-        int peso = pet.getPeso().intValue();
-        int idade = pet.getIdade();
-        TipoPet tipo = pet.getTipo();
+    public ProbabilidadeAdocao calcular(Pet pet) {
+        return calcular(pet.getTipo(), pet.getIdade(), pet.getPeso());
+    }
 
-        int nota = 10;
+    public ProbabilidadeAdocao calcular(TipoPet tipo, int idade, float peso) {
+        return tabela.consultar(tipo.ordinal(), idade, (int) peso);
+    }
 
-        // penalizando pelo peso muito alto
-        if (tipo == TipoPet.CACHORRO && peso > 15) {
-            nota -= 2;
-        }
-        if (tipo == TipoPet.GATO && peso > 10) {
-            nota -= 2;
+    /**
+     * Versão em lote, sobre colunas de tipos primitivos, que não cria objetos por pet.
+     * Os tipos chegam como ordinais de TipoPet e as probabilidades são gravadas como ordinais de ProbabilidadeAdocao;
+     * só as primeiras {@code quantidade} posições são usadas, para que os arrays possam ser reaproveitados entre blocos.
+     */
+    public void calcular(byte[] tipos, int[] idades, float[] pesos, int quantidade, byte[] probabilidades) {
+        if (quantidade > tipos.length || quantidade > idades.length || quantidade > pesos.length || quantidade > probabilidades.length) {
+            throw new IllegalArgumentException("Quantidade maior que o tamanho das colunas informadas");
         }
 
-        // penalizando pela idade avançada
-        if (idade >= 15) {
-            nota -= 5;
-        } else if (idade >= 10) {
-            nota -= 4;
+        for (int i = 0; i < quantidade; i++) {
+            probabilidades[i] = (byte) tabela.consultar(tipos[i], idades[i], (int) pesos[i]).ordinal();
         }
-
-        return nota;
     }
 
 }
@@ -1,7 +1,30 @@
 package br.com.alura.adopet.api.service;
 
+import br.com.alura.adopet.api.dto.MensagemEmailDto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public interface EmailService {
 
     void enviarEmail(String to, String subject, String message);
 
+    /**
+     * Envia um lote de emails e devolve as falhas indexadas pela posição do email na lista.
+     * Por padrão envia um a um; implementações podem aproveitar uma única sessão com o servidor para o lote inteiro.
+     */
+    default Map<Integer, Exception> enviarEmLote(List<MensagemEmailDto> emails) {
+        Map<Integer, Exception> falhas = new HashMap<>();
+        for (int posicao = 0; posicao < emails.size(); posicao++) {
+            MensagemEmailDto email = emails.get(posicao);
+            try {
+                enviarEmail(email.destinatario(), email.assunto(), email.mensagem());
+            } catch (RuntimeException exception) {
+                falhas.put(posicao, exception);
+            }
+        }
+        return falhas;
+    }
+
 }
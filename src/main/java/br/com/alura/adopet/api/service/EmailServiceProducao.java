@@ -1,11 +1,18 @@
 package br.com.alura.adopet.api.service;
 
+import br.com.alura.adopet.api.dto.MensagemEmailDto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @Profile("producao")
 public class EmailServiceProducao implements EmailService {
@@ -14,12 +21,54 @@ public class EmailServiceProducao implements EmailService {
     private JavaMailSender emailSender;
 
     public void enviarEmail(String to, String subject, String message) {
+        emailSender.send(criarMensagem(to, subject, message));
+    }
+
+    // o JavaMailSender abre uma única conexão SMTP para todas as mensagens de uma mesma chamada
+    @Override
+    public Map<Integer, Exception> enviarEmLote(List<MensagemEmailDto> emails) {
+        SimpleMailMessage[] mensagens = emails
+                .stream()
+                .map(email -> criarMensagem(email.destinatario(), email.assunto(), email.mensagem()))
+                .toArray(SimpleMailMessage[]::new);
+        try {
+            emailSender.send(mensagens);
+            return Map.of();
+        } catch (MailSendException exception) {
+            Map<Object, Exception> falhasPorMensagem = exception.getFailedMessages();
+            if (falhasPorMensagem.isEmpty()) {
+                return todasFalharam(mensagens.length, exception);
+            }
+
+            Map<Integer, Exception> falhas = new HashMap<>();
+            for (int posicao = 0; posicao < mensagens.length; posicao++) {
+                Exception falha = falhasPorMensagem.get(mensagens[posicao]);
+                if (falha != null) {
+                    falhas.put(posicao, falha);
+                }
+            }
+            return falhas;
+        } catch (MailException exception) {
+            // falha antes de qualquer envio, como na conexão ou na autenticação
+            return todasFalharam(mensagens.length, exception);
+        }
+    }
+
+    private SimpleMailMessage criarMensagem(String to, String subject, String message) {
         SimpleMailMessage email = new SimpleMailMessage();
         email.setFrom("adopet@email.com.br");
         email.setTo(to);
         email.setSubject(subject);
         email.setText(message);
-        emailSender.send(email);
+        return email;
+    }
+
+    private Map<Integer, Exception> todasFalharam(int quantidade, MailException exception) {
+        Map<Integer, Exception> falhas = new HashMap<>();
+        for (int posicao = 0; posicao < quantidade; posicao++) {
+            falhas.put(posicao, exception);
+        }
+        return falhas;
     }
 
 }
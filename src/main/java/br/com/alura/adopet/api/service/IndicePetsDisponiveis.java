@@ -0,0 +1,364 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.dto.FacetasPetsDto;
+import br.com.alura.adopet.api.dto.FaixaIdade;
+import br.com.alura.adopet.api.dto.FaixaPeso;
+import br.com.alura.adopet.api.dto.FiltroFacetasPetDto;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.PetIndexadoDto;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.repository.PetRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Índice invertido, em memória, dos pets disponíveis para a busca por facetas.
+ * Cada valor de faceta (tipo, faixa de idade, faixa de peso, cor e abrigo) guarda um BitSet indexado pelo id do pet,
+ * de modo que os filtros saem de interseções de bitmaps, sem ida ao banco.
+ * <p>
+ * É carregado na inicialização e atualizado após o commit dos cadastros e das aprovações de adoção feitos nesta instância.
+ * Alterações feitas por outras instâncias são percebidas pela versão global das listagens no banco: quando ela muda,
+ * o índice é recarregado em segundo plano. A ETag da busca por facetas vem da versão do próprio índice, e não da
+ * versão global, para que nunca anuncie dados que o índice ainda não tem.
+ */
+@Component
+public class IndicePetsDisponiveis implements SmartInitializingSingleton {
+
+    private static final int TAMANHO_LOTE_CARGA = 500;
+
+    private final PetRepository repository;
+
+    private final VersoesListagens versoesListagens;
+
+    private final boolean habilitado;
+
+    private final String instancia = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Estrutura atual = new Estrutura();
+
+    // incrementada a cada alteração do índice e usada na ETag da busca por facetas
+    private volatile long versao;
+
+    // versão global das listagens no banco lida no início da última carga completa
+    private volatile long versaoGlobalCarregada = -1;
+
+    // alterações recebidas durante uma reconstrução, reaplicadas na nova estrutura antes da troca
+    private List<Consumer<Estrutura>> pendentes;
+
+    public IndicePetsDisponiveis(PetRepository repository,
+                                 VersoesListagens versoesListagens,
+                                 @Value("${adopet.pets.indice-memoria.habilitado}") boolean habilitado) {
+        this.repository = repository;
+        this.versoesListagens = versoesListagens;
+        this.habilitado = habilitado;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public String etag() {
+        return "\"indice-" + instancia + "-" + versao + "\"";
+    }
+
+    public void indexar(PetIndexadoDto pet) {
+        indexar(List.of(pet));
+    }
+
+    public void indexar(List<PetIndexadoDto> pets) {
+        if (habilitado && !pets.isEmpty()) {
+            AposCommit.executar(() -> aplicar(estrutura -> pets.forEach(estrutura::adicionar)));
+        }
+    }
+
+    public void remover(Long idPet) {
+        if (habilitado) {
+            AposCommit.executar(() -> aplicar(estrutura -> estrutura.remover(idPet)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${adopet.pets.indice-memoria.intervalo-sincronizacao}")
+    public void sincronizar() {
+        if (habilitado && versoesListagens.versaoGlobal() != versaoGlobalCarregada) {
+            reconstruir();
+        }
+    }
+
+    public synchronized void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            pendentes = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // lida antes da carga: alterações feitas durante a carga mudam a versão e provocam uma nova sincronização
+        long versaoGlobal = versoesListagens.versaoGlobal();
+        Estrutura nova = new Estrutura();
+        long ultimoId = 0;
+        List<PetIndexadoDto> lote;
+        do {
+            lote = repository.listarDisponiveisParaIndice(ultimoId, PageRequest.ofSize(TAMANHO_LOTE_CARGA));
+            lote.forEach(nova::adicionar);
+            if (!lote.isEmpty()) {
+                ultimoId = lote.get(lote.size() - 1).id();
+            }
+        } while (lote.size() == TAMANHO_LOTE_CARGA);
+
+        lock.writeLock().lock();
+        try {
+            pendentes.forEach(alteracao -> alteracao.accept(nova));
+            pendentes = null;
+            atual = nova;
+            versaoGlobalCarregada = versaoGlobal;
+            versao++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public FacetasPetsDto buscar(FiltroFacetasPetDto filtro, long aposId, int limite) {
+        lock.readLock().lock();
+        try {
+            return atual.buscar(filtro, aposId, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void aplicar(Consumer<Estrutura> alteracao) {
+        lock.writeLock().lock();
+        try {
+            alteracao.accept(atual);
+            if (pendentes != null) {
+                pendentes.add(alteracao);
+            }
+            versao++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static class Estrutura {
+
+        private final BitSet disponiveis = new BitSet();
+
+        private final Faceta<TipoPet> porTipo = new Faceta<>(PetIndexadoDto::tipo);
+
+        private final Faceta<FaixaIdade> porFaixaIdade = new Faceta<>(pet -> FaixaIdade.de(pet.idade()));
+
+        private final Faceta<FaixaPeso> porFaixaPeso = new Faceta<>(pet -> FaixaPeso.de(pet.peso()));
+
+        private final Faceta<String> porCor = new Faceta<>(PetIndexadoDto::cor);
+
+        private final Faceta<Long> porAbrigo = new Faceta<>(PetIndexadoDto::idAbrigo);
+
+        private final List<Faceta<?>> facetas = List.of(porTipo, porFaixaIdade, porFaixaPeso, porCor, porAbrigo);
+
+        // cache das projeções usadas para montar a resposta sem consultar o banco
+        private final Map<Integer, PetIndexadoDto> pets = new HashMap<>();
+
+        void adicionar(PetIndexadoDto pet) {
+            int bit = Math.toIntExact(pet.id());
+            remover(pet.id());
+            pets.put(bit, pet);
+            disponiveis.set(bit);
+            facetas.forEach(faceta -> faceta.adicionar(bit, pet));
+        }
+
+        void remover(Long idPet) {
+            int bit = Math.toIntExact(idPet);
+            if (pets.remove(bit) == null) {
+                return;
+            }
+
+            disponiveis.clear(bit);
+            facetas.forEach(faceta -> faceta.remover(bit));
+        }
+
+        FacetasPetsDto buscar(FiltroFacetasPetDto filtro, long aposId, int limite) {
+            BitSet tipo = porTipo.filtro(filtro.tipo());
+            BitSet faixaIdade = porFaixaIdade.filtro(filtro.faixaIdade());
+            BitSet faixaPeso = porFaixaPeso.filtro(filtro.faixaPeso());
+            BitSet cor = porCor.filtro(filtro.cor() == null || filtro.cor().isBlank() ? null : filtro.cor());
+            BitSet abrigo = porAbrigo.filtro(filtro.abrigo());
+
+            BitSet resultado = intersecao(tipo, faixaIdade, faixaPeso, cor, abrigo);
+
+            List<PetDto> pagina = new ArrayList<>(limite);
+            int inicio = (int) Math.min(Math.max(aposId, -1), Integer.MAX_VALUE - 1) + 1;
+            for (int bit = resultado.nextSetBit(inicio); bit >= 0 && pagina.size() < limite; bit = resultado.nextSetBit(bit + 1)) {
+                pagina.add(pets.get(bit).paraPetDto());
+            }
+            Long proximo = pagina.size() == limite && resultado.nextSetBit(Math.toIntExact(pagina.get(limite - 1).id()) + 1) >= 0
+                    ? pagina.get(limite - 1).id()
+                    : null;
+
+            // as contagens de cada faceta desconsideram o filtro da própria faceta, para mostrar as alternativas;
+            // as facetas sem filtro compartilham a mesma base, o próprio resultado.
+            // Cada busca conta em arrays próprios, já que o lock de leitura é compartilhado entre buscas concorrentes
+            List<BitSet> filtros = Arrays.asList(tipo, faixaIdade, faixaPeso, cor, abrigo);
+            int[][] contagens = new int[facetas.size()][];
+            List<Integer> semFiltro = new ArrayList<>();
+            for (int i = 0; i < facetas.size(); i++) {
+                if (filtros.get(i) == null) {
+                    semFiltro.add(i);
+                } else {
+                    List<BitSet> demais = new ArrayList<>(filtros);
+                    demais.set(i, null);
+                    contar(List.of(i), demais, contagens);
+                }
+            }
+            contar(semFiltro, filtros, contagens);
+
+            return new FacetasPetsDto(
+                    resultado.cardinality(),
+                    pagina,
+                    proximo,
+                    porTipo.paraMapa(contagens[0]),
+                    porFaixaIdade.paraMapa(contagens[1]),
+                    porFaixaPeso.paraMapa(contagens[2]),
+                    porCor.paraMapa(contagens[3]),
+                    porAbrigo.paraMapa(contagens[4]));
+        }
+
+        private void contar(List<Integer> alvos, List<BitSet> filtros, int[][] contagens) {
+            if (alvos.isEmpty()) {
+                return;
+            }
+            if (filtros.stream().allMatch(filtro -> filtro == null)) {
+                // base com todos os disponíveis: as contagens totais já são mantidas a cada alteração
+                alvos.forEach(alvo -> contagens[alvo] = facetas.get(alvo).totais());
+                return;
+            }
+
+            alvos.forEach(alvo -> contagens[alvo] = facetas.get(alvo).novaContagem());
+            BitSet base = intersecao(filtros.toArray(new BitSet[0]));
+            for (int bit = base.nextSetBit(0); bit >= 0; bit = base.nextSetBit(bit + 1)) {
+                for (int alvo : alvos) {
+                    facetas.get(alvo).contar(bit, contagens[alvo]);
+                }
+            }
+        }
+
+        private BitSet intersecao(BitSet... filtros) {
+            BitSet resultado = null;
+            for (BitSet filtro : filtros) {
+                if (filtro == null) {
+                    continue;
+                }
+                if (resultado == null) {
+                    resultado = (BitSet) filtro.clone();
+                } else {
+                    resultado.and(filtro);
+                }
+            }
+            return resultado == null ? (BitSet) disponiveis.clone() : resultado;
+        }
+
+    }
+
+    /**
+     * Uma faceta do índice. Cada valor recebe um ordinal; por pet guarda-se o ordinal do seu valor,
+     * o que permite contar todos os valores em uma única passada pelos pets da base, em vez de
+     * intersectar a base com o bitmap de cada valor. Só é alterada sob o lock de escrita do índice;
+     * as buscas apenas a leem e contam em arrays próprios.
+     */
+    private static class Faceta<T> {
+
+        private static final BitSet VAZIO = new BitSet();
+
+        private final Function<PetIndexadoDto, T> extrator;
+
+        private final Map<T, Integer> ordinais = new HashMap<>();
+
+        private final List<T> valores = new ArrayList<>();
+
+        private final List<BitSet> bits = new ArrayList<>();
+
+        private int[] ordinalPorPet = new int[0];
+
+        private int[] totais = new int[0];
+
+        Faceta(Function<PetIndexadoDto, T> extrator) {
+            this.extrator = extrator;
+        }
+
+        void adicionar(int bit, PetIndexadoDto pet) {
+            int ordinal = ordinais.computeIfAbsent(extrator.apply(pet), valor -> {
+                valores.add(valor);
+                bits.add(new BitSet());
+                totais = Arrays.copyOf(totais, valores.size());
+                return valores.size() - 1;
+            });
+            if (bit >= ordinalPorPet.length) {
+                ordinalPorPet = Arrays.copyOf(ordinalPorPet, Math.max(bit + 1, ordinalPorPet.length * 2));
+            }
+            ordinalPorPet[bit] = ordinal;
+            bits.get(ordinal).set(bit);
+            totais[ordinal]++;
+        }
+
+        void remover(int bit) {
+            int ordinal = ordinalPorPet[bit];
+            bits.get(ordinal).clear(bit);
+            totais[ordinal]--;
+        }
+
+        BitSet filtro(T valor) {
+            if (valor == null) {
+                return null;
+            }
+            Integer ordinal = ordinais.get(valor);
+            return ordinal == null ? VAZIO : bits.get(ordinal);
+        }
+
+        int[] novaContagem() {
+            return new int[valores.size()];
+        }
+
+        int[] totais() {
+            return totais.clone();
+        }
+
+        void contar(int bit, int[] contagens) {
+            contagens[ordinalPorPet[bit]]++;
+        }
+
+        Map<T, Integer> paraMapa(int[] contagens) {
+            Map<T, Integer> resultado = new LinkedHashMap<>();
+            for (int ordinal = 0; ordinal < valores.size(); ordinal++) {
+                if (contagens[ordinal] > 0) {
+                    resultado.put(valores.get(ordinal), contagens[ordinal]);
+                }
+            }
+            return resultado;
+        }
+
+    }
+
+}
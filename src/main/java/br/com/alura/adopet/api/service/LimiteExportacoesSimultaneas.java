@@ -0,0 +1,30 @@
+package br.com.alura.adopet.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limita quantas exportações do histórico de adoções rodam ao mesmo tempo nesta instância.
+ * Cada exportação segura uma conexão do pool enquanto o cliente lê a resposta; sem limite,
+ * poucos clientes lentos esgotariam as conexões usadas pelas demais requisições.
+ */
+@Component
+public class LimiteExportacoesSimultaneas {
+
+    private final Semaphore vagas;
+
+    public LimiteExportacoesSimultaneas(@Value("${adopet.adocoes.exportacao.maximo-simultaneas}") int maximo) {
+        this.vagas = new Semaphore(maximo);
+    }
+
+    public boolean tentarIniciar() {
+        return vagas.tryAcquire();
+    }
+
+    public void finalizar() {
+        vagas.release();
+    }
+
+}
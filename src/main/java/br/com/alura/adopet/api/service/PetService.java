@@ -1,30 +1,189 @@
 package br.com.alura.adopet.api.service;
 
 import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.CursorBuscaPetDto;
+import br.com.alura.adopet.api.dto.FacetasPetsDto;
+import br.com.alura.adopet.api.dto.FiltroBuscaPetDto;
+import br.com.alura.adopet.api.dto.FiltroFacetasPetDto;
+import br.com.alura.adopet.api.dto.OrdenacaoBuscaPet;
+import br.com.alura.adopet.api.dto.PaginaPetsDto;
 import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.PetIndexadoDto;
+import br.com.alura.adopet.api.dto.ResultadoCadastroPetDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Abrigo;
 import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.repository.PetBuscaRepository;
+import br.com.alura.adopet.api.repository.PetJdbcRepository;
 import br.com.alura.adopet.api.repository.PetRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class PetService {
 
+    private static final int TAMANHO_LOTE_EXPORTACAO = 500;
+
+    private static final int TAMANHO_BLOCO_RECLASSIFICACAO = 1000;
+
     @Autowired
     private PetRepository repository;
 
-    public List<PetDto> buscarPetsDisponiveis() {
-        return repository
-                .findAllByAdotadoFalse()
-                .stream()
-                .map(PetDto::new)
-                .toList();
+    @Autowired
+    private PetJdbcRepository jdbcRepository;
+
+    @Autowired
+    private PetBuscaRepository buscaRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private VersoesListagens versoesListagens;
+
+    @Autowired
+    private IndicePetsDisponiveis indice;
+
+    @Autowired
+    private RegrasProbabilidadeAdocaoEmVigor regrasProbabilidade;
+
+    @Value("${adopet.pets.cadastro-em-lote.tamanho-lote}")
+    private int tamanhoLote;
+
+    public List<PetDto> buscarPetsDisponiveis(Long aposId, int limite) {
+        return repository.listarDisponiveis(aposId, PageRequest.ofSize(limite));
+    }
+
+    public List<PetDto> buscarPetsDisponiveis(ProbabilidadeAdocao probabilidade, Long aposId, int limite) {
+        return repository.listarDisponiveisPorProbabilidade(probabilidade, aposId, PageRequest.ofSize(limite));
+    }
+
+    public PaginaPetsDto buscarPets(FiltroBuscaPetDto filtro, OrdenacaoBuscaPet ordenacao, String cursor, int limite) {
+        List<PetDto> pets = buscaRepository.buscar(filtro, ordenacao, CursorBuscaPetDto.ler(cursor, ordenacao), limite);
+        String proximo = pets.size() < limite ? null : CursorBuscaPetDto.escrever(pets.get(pets.size() - 1), ordenacao);
+        return new PaginaPetsDto(pets, proximo);
+    }
+
+    public String etagFacetas() {
+        return indice.etag();
+    }
+
+    public FacetasPetsDto buscarPorFacetas(FiltroFacetasPetDto filtro, Long aposId, int limite) {
+        if (!indice.isHabilitado()) {
+            throw new ValidacaoException("Busca por facetas desabilitada");
+        }
+        return indice.buscar(filtro, aposId, limite);
+    }
+
+    public void percorrerPetsDisponiveis(Consumer<PetDto> consumidor) {
+        long ultimoId = 0;
+        List<PetDto> lote;
+        do {
+            lote = buscarPetsDisponiveis(ultimoId, TAMANHO_LOTE_EXPORTACAO);
+            lote.forEach(consumidor);
+            if (!lote.isEmpty()) {
+                ultimoId = lote.get(lote.size() - 1).id();
+            }
+        } while (lote.size() == TAMANHO_LOTE_EXPORTACAO);
     }
 
     public void cadastrarPet(Abrigo abrigo, CadastroPetDto dto) {
-        repository.save(new Pet(dto, abrigo));
+        ProbabilidadeAdocao probabilidade = regrasProbabilidade.calculadora().calcular(dto.tipo(), dto.idade(), dto.peso());
+        Pet pet = new Pet(dto, abrigo, probabilidade);
+        repository.save(pet);
+        versoesListagens.registrarAlteracao(abrigo.getId());
+        indice.indexar(new PetIndexadoDto(pet));
+    }
+
+    // recalcula a probabilidade gravada dos pets disponíveis com as regras em vigor e invalida as listagens dos abrigos afetados
+    public void reclassificarProbabilidadesDeAdocao() {
+        Set<Long> abrigosAlterados = jdbcRepository.reclassificarProbabilidades(regrasProbabilidade.calculadora(), TAMANHO_BLOCO_RECLASSIFICACAO);
+        abrigosAlterados.forEach(versoesListagens::registrarAlteracao);
+    }
+
+    public List<ResultadoCadastroPetDto> cadastrarPetsEmLote(Abrigo abrigo, Iterator<CadastroPetDto> pets) {
+        List<ResultadoCadastroPetDto> resultados = new ArrayList<>();
+        List<CadastroPetDto> lote = new ArrayList<>(tamanhoLote);
+        List<Integer> indicesDoLote = new ArrayList<>(tamanhoLote);
+
+        for (int posicao = 0; ; posicao++) {
+            CadastroPetDto dto;
+            try {
+                if (!pets.hasNext()) {
+                    break;
+                }
+                dto = pets.next();
+            } catch (RuntimeJsonMappingException exception) {
+                // o MappingIterator descarta o objeto que não pôde ser convertido e segue para o próximo
+                resultados.add(ResultadoCadastroPetDto.falha(posicao, List.of(mensagemDeLeitura(exception))));
+                continue;
+            } catch (RuntimeException exception) {
+                if (!(exception.getCause() instanceof JsonProcessingException)) {
+                    throw exception;
+                }
+                // JSON malformado: o parser não consegue se ressincronizar, então o restante do corpo é descartado
+                resultados.add(ResultadoCadastroPetDto.falha(posicao, List.of(mensagemDeLeitura(exception))));
+                break;
+            }
+
+            if (dto == null) {
+                resultados.add(ResultadoCadastroPetDto.falha(posicao, List.of("pet não informado")));
+                continue;
+            }
+
+            List<String> erros = validator
+                    .validate(dto)
+                    .stream()
+                    .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                    .toList();
+
+            if (!erros.isEmpty()) {
+                resultados.add(ResultadoCadastroPetDto.falha(posicao, erros));
+                continue;
+            }
+
+            lote.add(dto);
+            indicesDoLote.add(posicao);
+            if (lote.size() == tamanhoLote) {
+                inserirLote(abrigo, lote, indicesDoLote, resultados);
+                lote = new ArrayList<>(tamanhoLote);
+                indicesDoLote = new ArrayList<>(tamanhoLote);
+            }
+        }
+        inserirLote(abrigo, lote, indicesDoLote, resultados);
+
+        resultados.sort(Comparator.comparingInt(ResultadoCadastroPetDto::indice));
+        return resultados;
+    }
+
+    private void inserirLote(Abrigo abrigo, List<CadastroPetDto> lote, List<Integer> indicesDoLote, List<ResultadoCadastroPetDto> resultados) {
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        List<PetIndexadoDto> inseridos = jdbcRepository.inserirEmLote(abrigo, lote, regrasProbabilidade.calculadora());
+        versoesListagens.registrarAlteracao(abrigo.getId());
+        indice.indexar(inseridos);
+        indicesDoLote.forEach(posicao -> resultados.add(ResultadoCadastroPetDto.sucesso(posicao)));
+    }
+
+    private String mensagemDeLeitura(RuntimeException exception) {
+        if (exception.getCause() instanceof JsonProcessingException json) {
+            return json.getOriginalMessage();
+        }
+        return exception.getMessage();
     }
 }
@@ -0,0 +1,92 @@
+package br.com.alura.adopet.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Carrega as regras de probabilidade de adoção de um arquivo JSON e volta a carregá-las sempre que o arquivo
+ * for alterado, sem reiniciar a aplicação. Sem arquivo configurado valem as regras padrão.
+ * Um arquivo inválido é ignorado e as regras em vigor são mantidas.
+ * Depois de cada carga as probabilidades gravadas dos pets disponíveis são recalculadas com as novas regras;
+ * a carga feita na inicialização deixa a reclassificação para a primeira verificação agendada, quando o banco já foi migrado.
+ */
+@Component
+public class RecarregadorRegrasProbabilidadeAdocao {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecarregadorRegrasProbabilidadeAdocao.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final RegrasProbabilidadeAdocaoEmVigor regrasEmVigor;
+
+    private final PetService petService;
+
+    private final String arquivo;
+
+    private FileTime ultimaModificacao;
+
+    private boolean reclassificacaoPendente;
+
+    public RecarregadorRegrasProbabilidadeAdocao(ObjectMapper objectMapper,
+                                                 RegrasProbabilidadeAdocaoEmVigor regrasEmVigor,
+                                                 PetService petService,
+                                                 @Value("${adopet.probabilidade.regras.arquivo}") String arquivo) {
+        this.objectMapper = objectMapper;
+        this.regrasEmVigor = regrasEmVigor;
+        this.petService = petService;
+        this.arquivo = arquivo;
+    }
+
+    @PostConstruct
+    public synchronized void carregar() {
+        carregarSeAlterado();
+    }
+
+    @Scheduled(fixedDelayString = "${adopet.probabilidade.regras.intervalo-verificacao}")
+    public synchronized void recarregarSeAlterado() {
+        carregarSeAlterado();
+        if (reclassificacaoPendente) {
+            try {
+                petService.reclassificarProbabilidadesDeAdocao();
+                reclassificacaoPendente = false;
+                LOGGER.info("Probabilidades de adoção dos pets disponíveis recalculadas com as regras em vigor");
+            } catch (DataAccessException exception) {
+                LOGGER.error("Não foi possível recalcular as probabilidades de adoção, nova tentativa na próxima verificação", exception);
+            }
+        }
+    }
+
+    private void carregarSeAlterado() {
+        if (arquivo == null || arquivo.isBlank()) {
+            return;
+        }
+
+        Path caminho = Path.of(arquivo);
+        try {
+            FileTime modificacao = Files.getLastModifiedTime(caminho);
+            if (modificacao.equals(ultimaModificacao)) {
+                return;
+            }
+
+            ultimaModificacao = modificacao;
+            RegrasProbabilidadeAdocao regras = objectMapper.readValue(caminho.toFile(), RegrasProbabilidadeAdocao.class);
+            regrasEmVigor.atualizar(regras);
+            reclassificacaoPendente = true;
+            LOGGER.info("Regras de probabilidade de adoção carregadas de {}", caminho);
+        } catch (IOException | IllegalArgumentException exception) {
+            LOGGER.error("Não foi possível carregar as regras de probabilidade de adoção de {}, mantendo as regras em vigor", caminho, exception);
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Regras usadas no cálculo da probabilidade de adoção: nota inicial, penalidades de peso e idade por tipo de pet
+ * e notas mínimas de cada faixa. Para a idade vale apenas a penalidade do maior limite atingido.
+ */
+public record RegrasProbabilidadeAdocao(int notaInicial,
+                                        int notaMinimaAlta,
+                                        int notaMinimaMedia,
+                                        Map<TipoPet, RegrasTipo> tipos) {
+
+    public record RegrasTipo(int pesoAcimaDe, int penalidadePeso, List<PenalidadeIdade> idades) {
+
+        public RegrasTipo {
+            if (pesoAcimaDe < 0) {
+                throw new IllegalArgumentException("pesoAcimaDe não pode ser negativo");
+            }
+            idades = idades == null
+                    ? List.of()
+                    : idades.stream().sorted(Comparator.comparingInt(PenalidadeIdade::aPartirDe).reversed()).toList();
+        }
+
+    }
+
+    public record PenalidadeIdade(int aPartirDe, int penalidade) {
+
+        public PenalidadeIdade {
+            if (aPartirDe < 0) {
+                throw new IllegalArgumentException("aPartirDe não pode ser negativo");
+            }
+        }
+
+    }
+
+    public RegrasProbabilidadeAdocao {
+        if (notaMinimaAlta < notaMinimaMedia) {
+            throw new IllegalArgumentException("notaMinimaAlta deve ser maior ou igual a notaMinimaMedia");
+        }
+        if (tipos == null || !tipos.keySet().containsAll(List.of(TipoPet.values()))) {
+            throw new IllegalArgumentException("Regras devem ser informadas para todos os tipos de pet");
+        }
+        tipos = Map.copyOf(tipos);
+    }
+
+    public static RegrasProbabilidadeAdocao padrao() {
+        List<PenalidadeIdade> idades = List.of(new PenalidadeIdade(10, 4), new PenalidadeIdade(15, 5));
+        return new RegrasProbabilidadeAdocao(10, 8, 5, Map.of(
+                TipoPet.CACHORRO, new RegrasTipo(15, 2, idades),
+                TipoPet.GATO, new RegrasTipo(10, 2, idades)));
+    }
+
+    int calcularNota(TipoPet tipo, int idade, int peso) {
+        RegrasTipo regras = tipos.get(tipo);
+        int nota = notaInicial;
+
+        if (peso > regras.pesoAcimaDe()) {
+            nota -= regras.penalidadePeso();
+        }
+
+        for (PenalidadeIdade penalidade : regras.idades()) {
+            if (idade >= penalidade.aPartirDe()) {
+                nota -= penalidade.penalidade();
+                break;
+            }
+        }
+
+        return nota;
+    }
+
+    ProbabilidadeAdocao classificar(int nota) {
+        if (nota >= notaMinimaAlta) {
+            return ProbabilidadeAdocao.ALTA;
+        }
+
+        if (nota >= notaMinimaMedia) {
+            return ProbabilidadeAdocao.MEDIA;
+        }
+
+        return ProbabilidadeAdocao.BAIXA;
+    }
+
+}
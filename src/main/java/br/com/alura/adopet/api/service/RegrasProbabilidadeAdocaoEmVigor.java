@@ -0,0 +1,22 @@
+package br.com.alura.adopet.api.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Guarda a calculadora com as regras de probabilidade de adoção em vigor.
+ * Começa com as regras padrão e é atualizada por RecarregadorRegrasProbabilidadeAdocao.
+ */
+@Component
+public class RegrasProbabilidadeAdocaoEmVigor {
+
+    private volatile CalculadoraProbabilidadeAdocao calculadora = new CalculadoraProbabilidadeAdocao();
+
+    public CalculadoraProbabilidadeAdocao calculadora() {
+        return calculadora;
+    }
+
+    public void atualizar(RegrasProbabilidadeAdocao regras) {
+        calculadora = new CalculadoraProbabilidadeAdocao(regras);
+    }
+
+}
@@ -0,0 +1,112 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.dto.MensagemEmailDto;
+import br.com.alura.adopet.api.model.EmailOutbox;
+import br.com.alura.adopet.api.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envia os emails da outbox. Os emails vencidos são reservados em uma transação curta, que conta a tentativa e
+ * os esconde dos demais relays até o fim da reserva; o envio SMTP acontece depois, em lote, sem conexão do pool nem locks presos.
+ * Um email que falha volta para a fila com espera exponencial e deixa de ser tentado após o máximo de tentativas.
+ * Se o processo cair durante o envio, o email volta a ser tentado quando a reserva expirar.
+ */
+@Component
+@ConditionalOnProperty(name = "adopet.email.outbox.relay.habilitado", havingValue = "true", matchIfMissing = true)
+public class RelayEmailOutbox {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RelayEmailOutbox.class);
+
+    @Autowired
+    private EmailOutboxRepository repository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${adopet.email.outbox.tamanho-lote}")
+    private int tamanhoLote;
+
+    @Value("${adopet.email.outbox.reserva}")
+    private Duration reserva;
+
+    @Value("${adopet.email.outbox.maximo-tentativas}")
+    private int maximoTentativas;
+
+    @Value("${adopet.email.outbox.espera-inicial}")
+    private Duration esperaInicial;
+
+    @Scheduled(fixedDelayString = "${adopet.email.outbox.intervalo}")
+    public void enviarPendentes() {
+        LocalDateTime agora = LocalDateTime.now();
+        List<EmailOutbox> reservados = transactionTemplate.execute(status -> {
+            List<EmailOutbox> pendentes = repository.reservarPendentes(agora, tamanhoLote);
+            pendentes.forEach(email -> email.reservar(agora.plus(reserva)));
+            return pendentes;
+        });
+        if (reservados == null || reservados.isEmpty()) {
+            return;
+        }
+
+        // o lote inteiro vai ao EmailService de uma vez, para que o envio aproveite uma única sessão SMTP
+        List<MensagemEmailDto> mensagens = reservados
+                .stream()
+                .map(email -> new MensagemEmailDto(email.getDestinatario(), email.getAssunto(), email.getMensagem()))
+                .toList();
+        long inicio = System.nanoTime();
+        Map<Integer, Exception> falhas = emailService.enviarEmLote(mensagens);
+        // cada email registra a sua parte do tempo do lote, para que a soma do timer continue sendo o tempo gasto com SMTP
+        long duracaoPorEmail = (System.nanoTime() - inicio) / reservados.size();
+
+        List<Long> enviados = new ArrayList<>(reservados.size());
+        for (int posicao = 0; posicao < reservados.size(); posicao++) {
+            EmailOutbox email = reservados.get(posicao);
+            Exception falha = falhas.get(posicao);
+            if (falha == null) {
+                enviados.add(email.getId());
+            } else {
+                registrarFalha(email, falha);
+            }
+            meterRegistry.timer("adopet.email.envios", "resultado", falha == null ? "sucesso" : "falha")
+                    .record(duracaoPorEmail, TimeUnit.NANOSECONDS);
+        }
+
+        if (!enviados.isEmpty()) {
+            repository.marcarComoEnviados(enviados, LocalDateTime.now());
+        }
+    }
+
+    private void registrarFalha(EmailOutbox email, Exception exception) {
+        if (email.getTentativas() >= maximoTentativas) {
+            LOGGER.error("Falha ao enviar email {} da outbox após {} tentativas, email não será mais tentado", email.getId(), email.getTentativas(), exception);
+            meterRegistry.counter("adopet.email.abandonados").increment();
+            repository.reagendar(email.getId(), null);
+            return;
+        }
+
+        Duration espera = esperaInicial.multipliedBy(1L << Math.min(email.getTentativas() - 1, 20));
+        LOGGER.warn("Falha ao enviar email {} da outbox, nova tentativa em {}", email.getId(), espera, exception);
+        repository.reagendar(email.getId(), LocalDateTime.now().plus(espera));
+    }
+
+}
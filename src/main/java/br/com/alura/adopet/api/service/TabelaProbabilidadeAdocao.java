@@ -0,0 +1,58 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+
+import java.util.Objects;
+
+/**
+ * Regras de probabilidade de adoção pré-calculadas para cada combinação de tipo, idade e peso (em kg inteiros).
+ * Idades e pesos acima do maior limite configurado caem na última posição, pois a partir dali o resultado não muda.
+ */
+final class TabelaProbabilidadeAdocao {
+
+    private static final int TIPOS = TipoPet.values().length;
+
+    private final ProbabilidadeAdocao[] probabilidades;
+
+    private final int idades;
+
+    private final int pesos;
+
+    private TabelaProbabilidadeAdocao(ProbabilidadeAdocao[] probabilidades, int idades, int pesos) {
+        this.probabilidades = probabilidades;
+        this.idades = idades;
+        this.pesos = pesos;
+    }
+
+    static TabelaProbabilidadeAdocao compilar(RegrasProbabilidadeAdocao regras) {
+        int idadeMaxima = 0;
+        int pesoMaximo = 0;
+        for (RegrasProbabilidadeAdocao.RegrasTipo regrasTipo : regras.tipos().values()) {
+            pesoMaximo = Math.max(pesoMaximo, regrasTipo.pesoAcimaDe() + 1);
+            for (RegrasProbabilidadeAdocao.PenalidadeIdade penalidade : regrasTipo.idades()) {
+                idadeMaxima = Math.max(idadeMaxima, penalidade.aPartirDe());
+            }
+        }
+
+        int idades = idadeMaxima + 1;
+        int pesos = pesoMaximo + 1;
+        ProbabilidadeAdocao[] probabilidades = new ProbabilidadeAdocao[TIPOS * idades * pesos];
+        for (TipoPet tipo : TipoPet.values()) {
+            for (int idade = 0; idade < idades; idade++) {
+                for (int peso = 0; peso < pesos; peso++) {
+                    int nota = regras.calcularNota(tipo, idade, peso);
+                    probabilidades[(tipo.ordinal() * idades + idade) * pesos + peso] = regras.classificar(nota);
+                }
+            }
+        }
+        return new TabelaProbabilidadeAdocao(probabilidades, idades, pesos);
+    }
+
+    ProbabilidadeAdocao consultar(int tipo, int idade, int peso) {
+        int linha = Math.min(Math.max(idade, 0), idades - 1);
+        int coluna = Math.min(Math.max(peso, 0), pesos - 1);
+        return probabilidades[(Objects.checkIndex(tipo, TIPOS) * idades + linha) * pesos + coluna];
+    }
+
+}
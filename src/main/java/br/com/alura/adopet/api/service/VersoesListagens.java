@@ -0,0 +1,92 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.repository.VersaoListagemJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versões das listagens de pets e abrigos usadas como ETag.
+ * Cada abrigo tem a sua própria versão no banco e a versão global é a soma de todas elas, então uma alteração
+ * nunca trava uma linha compartilhada por todas as escritas. O incremento acontece depois do commit, em uma
+ * transação própria e curta, para que nem cadastros em lote longos segurem o lock da versão do abrigo.
+ * As versões ficam em memória e são atualizadas periodicamente a partir do banco, para que um GET condicional
+ * não consulte o banco; as alterações feitas em outras instâncias aparecem aqui no próximo intervalo.
+ */
+@Component
+public class VersoesListagens {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VersoesListagens.class);
+
+    // alterações que não pertencem a um abrigo já cadastrado, como o cadastro de um novo abrigo
+    private static final String GERAL = "global";
+
+    @Autowired
+    private VersaoListagemJdbcRepository repository;
+
+    private final Map<String, Long> versoes = new ConcurrentHashMap<>();
+
+    private final AtomicLong versaoGlobal = new AtomicLong();
+
+    public String etagGlobal() {
+        return "\"global-" + versaoGlobal() + "\"";
+    }
+
+    public long versaoGlobal() {
+        return versaoGlobal.get();
+    }
+
+    public String etagAbrigo(Long idAbrigo) {
+        String chave = chaveAbrigo(idAbrigo);
+        return "\"" + chave + "-" + versoes.getOrDefault(chave, 0L) + "\"";
+    }
+
+    public void registrarAlteracao() {
+        AposCommit.executar(() -> incrementar(GERAL));
+    }
+
+    public void registrarAlteracao(Long idAbrigo) {
+        AposCommit.executar(() -> incrementar(chaveAbrigo(idAbrigo)));
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${adopet.listagens.versoes.intervalo-atualizacao}")
+    public void atualizar() {
+        repository.buscarTodas().forEach(this::aplicar);
+        recalcularGlobal();
+    }
+
+    private void incrementar(String chave) {
+        try {
+            repository.incrementar(chave);
+            aplicar(chave, repository.buscar(chave));
+            recalcularGlobal();
+        } catch (DataAccessException exception) {
+            // os dados já foram gravados; a listagem fica com a ETag anterior até a próxima alteração do abrigo
+            LOGGER.error("Não foi possível incrementar a versão da listagem {}", chave, exception);
+        }
+    }
+
+    // as versões só crescem, então uma leitura antiga nunca sobrescreve uma mais nova
+    private void aplicar(String chave, long versao) {
+        versoes.merge(chave, versao, Math::max);
+    }
+
+    private void recalcularGlobal() {
+        long soma = versoes.values().stream().mapToLong(Long::longValue).sum();
+        versaoGlobal.accumulateAndGet(soma, Math::max);
+    }
+
+    private String chaveAbrigo(Long idAbrigo) {
+        return "abrigo-" + idAbrigo;
+    }
+
+}
@@ -0,0 +1,11 @@
+package br.com.alura.adopet.api.validacoes;
+
+public record ElegibilidadeAdocao(
+        Boolean petAdotado,
+        Boolean petComAdocaoEmAndamento,
+        Long adocoesEmAndamentoDoTutor,
+        Long adocoesAprovadasDoTutor,
+        String nomePet,
+        String nomeAbrigo,
+        String emailAbrigo) {
+}
@@ -5,9 +5,11 @@ import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.StatusAdocao;
 import br.com.alura.adopet.api.repository.AdocaoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 @Component
+@Order(2)
 public class ValidacaoPetComAdocaoEmAndamento implements ValidacaoSolicitacaoAdocao {
 
     @Autowired
@@ -17,6 +19,15 @@ public class ValidacaoPetComAdocaoEmAndamento implements ValidacaoSolicitacaoAdo
         boolean petTemAdocaoEmAndamento = adocaoRepository
                 .existsByPetIdAndStatus(dto.idPet(), StatusAdocao.AGUARDANDO_AVALIACAO);
 
+        validar(petTemAdocaoEmAndamento);
+    }
+
+    @Override
+    public void validar(SolicitacaoAdocaoDto dto, ElegibilidadeAdocao elegibilidade) {
+        validar(elegibilidade.petComAdocaoEmAndamento());
+    }
+
+    private void validar(boolean petTemAdocaoEmAndamento) {
         if (petTemAdocaoEmAndamento) {
             throw new ValidacaoException("Pet já está aguardando avaliação para ser adotado!");
         }
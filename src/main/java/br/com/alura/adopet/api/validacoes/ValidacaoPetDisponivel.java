@@ -5,9 +5,11 @@ import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Pet;
 import br.com.alura.adopet.api.repository.PetRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 @Component
+@Order(1)
 public class ValidacaoPetDisponivel implements ValidacaoSolicitacaoAdocao {
 
     @Autowired
@@ -15,7 +17,16 @@ public class ValidacaoPetDisponivel implements ValidacaoSolicitacaoAdocao {
 
     public void validar(SolicitacaoAdocaoDto dto) {
         Pet pet = petRepository.getReferenceById(dto.idPet());
-        if (pet.getAdotado()) {
+        validar(pet.getAdotado());
+    }
+
+    @Override
+    public void validar(SolicitacaoAdocaoDto dto, ElegibilidadeAdocao elegibilidade) {
+        validar(elegibilidade.petAdotado());
+    }
+
+    private void validar(boolean petAdotado) {
+        if (petAdotado) {
             throw new ValidacaoException("Pet já foi adotado!");
         }
     }
@@ -6,4 +6,8 @@ public interface ValidacaoSolicitacaoAdocao {
 
     void validar(SolicitacaoAdocaoDto dto);
 
+    default void validar(SolicitacaoAdocaoDto dto, ElegibilidadeAdocao elegibilidade) {
+        validar(dto);
+    }
+
 }
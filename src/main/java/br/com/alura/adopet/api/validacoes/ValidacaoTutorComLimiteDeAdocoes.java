@@ -2,35 +2,35 @@ package br.com.alura.adopet.api.validacoes;
 
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
-import br.com.alura.adopet.api.model.Adocao;
 import br.com.alura.adopet.api.model.StatusAdocao;
-import br.com.alura.adopet.api.model.Tutor;
 import br.com.alura.adopet.api.repository.AdocaoRepository;
-import br.com.alura.adopet.api.repository.TutorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Component
+@Order(4)
 public class ValidacaoTutorComLimiteDeAdocoes implements ValidacaoSolicitacaoAdocao {
 
-    @Autowired
-    private AdocaoRepository adocaoRepository;
+    private static final int LIMITE_ADOCOES = 5;
 
     @Autowired
-    private TutorRepository tutorRepository;
+    private AdocaoRepository adocaoRepository;
 
     public void validar(SolicitacaoAdocaoDto dto) {
-        List<Adocao> adocoes = adocaoRepository.findAll();
-        Tutor tutor = tutorRepository.getReferenceById(dto.idTutor());
-        int contador = 0;
-        for (Adocao a : adocoes) {
-            if (a.getTutor() == tutor && a.getStatus() == StatusAdocao.APROVADO) {
-                contador = contador + 1;
-            }
-        }
-        if (contador == 5) {
+        long adocoesAprovadas = adocaoRepository
+                .countByTutorIdAndStatus(dto.idTutor(), StatusAdocao.APROVADO);
+
+        validar(adocoesAprovadas);
+    }
+
+    @Override
+    public void validar(SolicitacaoAdocaoDto dto, ElegibilidadeAdocao elegibilidade) {
+        validar(elegibilidade.adocoesAprovadasDoTutor());
+    }
+
+    private void validar(long adocoesAprovadas) {
+        if (adocoesAprovadas >= LIMITE_ADOCOES) {
             throw new ValidacaoException("Tutor chegou ao limite máximo de 5 adoções!");
         }
     }
@@ -0,0 +1,4 @@
+update pets
+set adotado = true
+where adotado = false
+  and id in (select pet_id from adocoes where status = 'APROVADO');
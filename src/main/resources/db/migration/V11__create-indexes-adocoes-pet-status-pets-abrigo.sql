@@ -0,0 +1,2 @@
+create index idx_adocoes_pet_id_status on adocoes(pet_id, status);
+create index idx_pets_abrigo_id on pets(abrigo_id);
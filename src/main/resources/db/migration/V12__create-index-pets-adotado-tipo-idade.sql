@@ -0,0 +1 @@
+create index idx_pets_adotado_tipo_idade on pets(adotado, tipo, idade);
@@ -0,0 +1,7 @@
+create table versoes_listagens(
+    chave varchar(50) not null,
+    versao bigint not null,
+    primary key(chave)
+);
+
+insert into versoes_listagens(chave, versao) values ('global', 0);
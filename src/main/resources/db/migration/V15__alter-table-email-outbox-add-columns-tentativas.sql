@@ -0,0 +1,7 @@
+alter table email_outbox add column tentativas int not null default 0;
+alter table email_outbox add column proxima_tentativa datetime;
+
+update email_outbox set proxima_tentativa = data_criacao where data_envio is null;
+
+drop index idx_email_outbox_data_envio on email_outbox;
+create index idx_email_outbox_data_envio_proxima_tentativa on email_outbox(data_envio, proxima_tentativa, id);
@@ -0,0 +1 @@
+create index idx_adocoes_tutor_id_status on adocoes(tutor_id, status);
@@ -0,0 +1,11 @@
+create table email_outbox(
+    id bigint not null auto_increment,
+    destinatario varchar(100) not null,
+    assunto varchar(255) not null,
+    mensagem text not null,
+    data_criacao datetime not null,
+    data_envio datetime,
+    primary key(id)
+);
+
+create index idx_email_outbox_data_envio on email_outbox(data_envio, id);
@@ -0,0 +1 @@
+create index idx_pets_adotado_id on pets(adotado, id);
@@ -0,0 +1,13 @@
+alter table pets add column probabilidade_adocao varchar(20) not null default 'ALTA';
+
+update pets set probabilidade_adocao = case
+    when 10
+        - case when (tipo = 'CACHORRO' and floor(peso) > 15) or (tipo = 'GATO' and floor(peso) > 10) then 2 else 0 end
+        - case when idade >= 15 then 5 when idade >= 10 then 4 else 0 end >= 8 then 'ALTA'
+    when 10
+        - case when (tipo = 'CACHORRO' and floor(peso) > 15) or (tipo = 'GATO' and floor(peso) > 10) then 2 else 0 end
+        - case when idade >= 15 then 5 when idade >= 10 then 4 else 0 end >= 5 then 'MEDIA'
+    else 'BAIXA'
+end;
+
+create index idx_pets_adotado_probabilidade_adocao_id on pets(adotado, probabilidade_adocao, id);
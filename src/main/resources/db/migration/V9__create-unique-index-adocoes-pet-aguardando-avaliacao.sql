@@ -0,0 +1,14 @@
+update adocoes
+set status = 'REPROVADO', justificativa_status = 'Solicitação duplicada para o mesmo pet'
+where id in (
+    select id from (
+        select distinct a.id
+        from adocoes a
+        join adocoes anterior on anterior.pet_id = a.pet_id and anterior.status = 'AGUARDANDO_AVALIACAO' and anterior.id < a.id
+        where a.status = 'AGUARDANDO_AVALIACAO'
+    ) duplicadas
+);
+
+alter table adocoes add column pet_aguardando_avaliacao bigint generated always as (case when status = 'AGUARDANDO_AVALIACAO' then pet_id end);
+
+create unique index uk_adocoes_pet_aguardando_avaliacao on adocoes(pet_aguardando_avaliacao);
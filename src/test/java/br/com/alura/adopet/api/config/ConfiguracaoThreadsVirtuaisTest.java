@@ -0,0 +1,61 @@
+package br.com.alura.adopet.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+class ConfiguracaoThreadsVirtuaisTest {
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(ConfiguracaoThreadsVirtuais.class)
+            .withBean(HikariDataSource.class);
+
+    @Test
+    @DisplayName("Não deve alterar o executor do Tomcat nem o timeout de conexão quando threads virtuais estiverem desabilitadas")
+    void cenario01() {
+        contexto.run(ctx -> {
+            Assertions.assertThat(ctx).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class);
+            Assertions.assertThat(ctx.getBean(HikariDataSource.class).getConnectionTimeout()).isEqualTo(30000);
+        });
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @SuppressWarnings("unchecked")
+    @DisplayName("Deve usar um executor de threads virtuais no Tomcat sem remover o executor assíncrono do MVC")
+    void cenario02() {
+        contexto.withPropertyValues("adopet.threads-virtuais.habilitado=true").run(ctx -> {
+            var protocolo = new Http11NioProtocol();
+            ((TomcatProtocolHandlerCustomizer<Http11NioProtocol>) ctx.getBean(TomcatProtocolHandlerCustomizer.class)).customize(protocolo);
+            var thread = new CompletableFuture<String>();
+            protocolo.getExecutor().execute(() -> thread.complete(Thread.currentThread().toString()));
+
+            Assertions.assertThat(thread.get()).contains("VirtualThread");
+            Assertions.assertThat(ctx).hasSingleBean(Executor.class).hasBean("applicationTaskExecutor");
+            Assertions.assertThat(ctx.getBean(HikariDataSource.class).getConnectionTimeout()).isEqualTo(2000);
+        });
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    @DisplayName("Deve falhar na inicialização quando habilitado em uma JVM sem threads virtuais")
+    void cenario03() {
+        contexto.withPropertyValues("adopet.threads-virtuais.habilitado=true").run(ctx -> Assertions.assertThat(ctx)
+                .hasFailed()
+                .getFailure()
+                .hasRootCauseInstanceOf(NoSuchMethodException.class));
+    }
+
+}
@@ -4,6 +4,7 @@ import br.com.alura.adopet.api.dto.AbrigoDto;
 import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
 import br.com.alura.adopet.api.dto.CadastroPetDto;
 import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.ResultadoCadastroPetDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Abrigo;
 import br.com.alura.adopet.api.model.Pet;
@@ -11,6 +12,7 @@ import br.com.alura.adopet.api.model.TipoPet;
 import br.com.alura.adopet.api.repository.AbrigoRepository;
 import br.com.alura.adopet.api.service.AbrigoService;
 import br.com.alura.adopet.api.service.PetService;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,9 +29,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -166,6 +170,7 @@ class AbrigoControllerTest {
         var param = 1l;
 
         listaPets.add(new PetDto(pet));
+        when(abrigo.getId()).thenReturn(param);
         when(abrigoService.carregarAbrigo(String.valueOf(param))).thenReturn(abrigo);
         when(abrigoService.listarPetsDoAbrigo(String.valueOf(param))).thenReturn(listaPets);
 
@@ -188,6 +193,7 @@ class AbrigoControllerTest {
         var param = "nome";
 
         listaPets.add(new PetDto(pet));
+        when(abrigo.getId()).thenReturn(1l);
         when(abrigoService.carregarAbrigo(param)).thenReturn(abrigo);
         when(abrigoService.listarPetsDoAbrigo(param)).thenReturn(listaPets);
 
@@ -421,4 +427,79 @@ class AbrigoControllerTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Deve cadastrar os pets em lote a partir de um stream NDJSON e retornar código 200")
+    void deveCadastrarPetsEmLoteAPartirDeNdjson() throws Exception {
+
+        //ARRANGE
+        var param = 1l;
+        var ndjson = jsonCadastroPetDto.write(new CadastroPetDto(TipoPet.GATO, "Miau", "Siames", 4, "Cinza", 4.0f)).getJson()
+                + "\n"
+                + jsonCadastroPetDto.write(new CadastroPetDto(TipoPet.CACHORRO, "Rex", "Vira-lata", 2, "Preto", 12.0f)).getJson()
+                + "\n";
+        when(abrigoService.carregarAbrigo(String.valueOf(param))).thenReturn(abrigo);
+        when(petService.cadastrarPetsEmLote(eq(abrigo), any())).thenAnswer(invocation -> {
+            Iterator<CadastroPetDto> pets = invocation.getArgument(1);
+            List<ResultadoCadastroPetDto> resultados = new ArrayList<>();
+            for (int indice = 0; pets.hasNext(); indice++) {
+                pets.next();
+                resultados.add(ResultadoCadastroPetDto.sucesso(indice));
+            }
+            return resultados;
+        });
+
+        //ACT
+        var response = mockMvc.perform(
+                post("/abrigos/"+param+"/pets/lote")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson)
+        ).andReturn().getResponse();
+
+        //ASSERT
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(response.getContentAsString()).contains("\"indice\":1");
+
+    }
+
+    @Test
+    @DisplayName("Deve ler item a item um array JSON de pets em lote e seguir depois de um item inválido")
+    void deveCadastrarPetsEmLoteAPartirDeArrayJson() throws Exception {
+
+        //ARRANGE
+        var param = 1l;
+        var json = "["
+                + jsonCadastroPetDto.write(new CadastroPetDto(TipoPet.GATO, "Miau", "Siames", 4, "Cinza", 4.0f)).getJson()
+                + ",{\"tipo\":\"GATO\",\"nome\":\"Tom\",\"raca\":\"Siames\",\"idade\":\"dois\",\"cor\":\"Cinza\",\"peso\":5.0}"
+                + "," + jsonCadastroPetDto.write(new CadastroPetDto(TipoPet.CACHORRO, "Rex", "Vira-lata", 2, "Preto", 12.0f)).getJson()
+                + "]";
+        List<String> lidos = new ArrayList<>();
+        when(abrigoService.carregarAbrigo(String.valueOf(param))).thenReturn(abrigo);
+        when(petService.cadastrarPetsEmLote(eq(abrigo), any())).thenAnswer(invocation -> {
+            Iterator<CadastroPetDto> pets = invocation.getArgument(1);
+            List<ResultadoCadastroPetDto> resultados = new ArrayList<>();
+            for (int indice = 0; pets.hasNext(); indice++) {
+                try {
+                    lidos.add(pets.next().nome());
+                    resultados.add(ResultadoCadastroPetDto.sucesso(indice));
+                } catch (RuntimeJsonMappingException exception) {
+                    resultados.add(ResultadoCadastroPetDto.falha(indice, List.of("idade inválida")));
+                }
+            }
+            return resultados;
+        });
+
+        //ACT
+        var response = mockMvc.perform(
+                post("/abrigos/"+param+"/pets/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+        ).andReturn().getResponse();
+
+        //ASSERT
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(lidos).containsExactly("Miau", "Rex");
+        Assertions.assertThat(response.getContentAsString()).contains("\"indice\":1").contains("\"indice\":2");
+
+    }
+
+}
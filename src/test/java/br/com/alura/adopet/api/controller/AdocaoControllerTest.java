@@ -1,22 +1,45 @@
 package br.com.alura.adopet.api.controller;
 
+import br.com.alura.adopet.api.dto.AdocaoExportadaDto;
 import br.com.alura.adopet.api.dto.AprovacaoAdocaoDto;
+import br.com.alura.adopet.api.dto.FiltroExportacaoAdocoesDto;
 import br.com.alura.adopet.api.dto.ReprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.model.StatusAdocao;
 import br.com.alura.adopet.api.service.AdocaoService;
+import br.com.alura.adopet.api.service.LimiteExportacoesSimultaneas;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.json.AutoConfigureJsonTesters;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
-
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 
@@ -31,6 +54,9 @@ class AdocaoControllerTest {
     @MockBean
     private AdocaoService adocaoService;
 
+    @Autowired
+    private LimiteExportacoesSimultaneas limiteExportacoes;
+
     @Autowired
     private JacksonTester<AprovacaoAdocaoDto> jsonAprovacaoDTO;
 
@@ -86,6 +112,37 @@ class AdocaoControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Deve devolver código 400 com a mensagem quando a solicitação for rejeitada")
+    void deveriaDevolverCodigo400ParaSolicitacaoDeAdocaoRejeitada() throws Exception {
+
+        //ARRANGE
+
+        String json = """
+                    {
+                        "idPet" : 1,
+                        "idTutor" : 1,
+                        "motivo" : "Motivo qualquer"
+                    }
+                """;
+        BDDMockito.willThrow(new ValidacaoException("Pet já está aguardando avaliação para ser adotado!"))
+                .given(adocaoService).solicitar(any());
+
+        //ACT
+
+        var response = mockMvc.perform(
+                post("/adocoes")
+                        .content(json)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andReturn().getResponse();
+
+        //ASSERT
+
+        Assertions.assertThat(response.getStatus()).isEqualTo(400);
+        Assertions.assertThat(response.getContentAsString()).isEqualTo("Pet já está aguardando avaliação para ser adotado!");
+
+    }
+
     @Test
     @DisplayName("Deve aprovar a adoção e retornar o código 200")
     void deveAprovarAAdocao() throws Exception {
@@ -132,6 +189,27 @@ class AdocaoControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Não deve aprovar uma adoção inexistente e deve retornar o código 404")
+    void naoDeveAprovarAdocaoInexistente() throws Exception {
+
+        //ARRANGE
+        AprovacaoAdocaoDto aprovacaoDTO = new AprovacaoAdocaoDto(99l);
+        String json = jsonAprovacaoDTO.write(aprovacaoDTO).getJson();
+        BDDMockito.willThrow(new ValidacaoException("Adoção não encontrada")).given(adocaoService).aprovar(aprovacaoDTO);
+
+        //ACT
+        var response = mockMvc.perform(
+                put("/adocoes/aprovar")
+                        .content(json)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andReturn().getResponse();
+
+        //ASSERT
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+
+    }
+
     @Test
     @DisplayName("Deve reprovar a adoção e retornar o código 200")
     void deveReprovarAAdocao() throws Exception {
@@ -155,6 +233,27 @@ class AdocaoControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Não deve reprovar uma adoção inexistente e deve retornar o código 404")
+    void naoDeveReprovarAdocaoInexistente() throws Exception {
+
+        //ARRANGE
+        ReprovacaoAdocaoDto dto = new ReprovacaoAdocaoDto(99l, "Qualquer justificativa");
+        String json = jsonReprovacaoDTO.write(dto).getJson();
+        BDDMockito.willThrow(new ValidacaoException("Adoção não encontrada")).given(adocaoService).reprovar(dto);
+
+        //ACT
+        var response = mockMvc.perform(
+                put("/adocoes/reprovar")
+                        .content(json)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andReturn().getResponse();
+
+        //ASSERT
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+
+    }
+
     @Test
     @DisplayName("A reprovação deve dar erro e retornar código 400 por id inválido")
     void deveRetornarErro400PorIdInvalido() throws Exception {
@@ -201,4 +300,131 @@ class AdocaoControllerTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Deve exportar o histórico de adoções filtrado em CSV, escapando os campos com vírgula e aspas")
+    void exportarHistoricoEmCsv() throws Exception {
+
+        //ARRANGE
+        var filtro = new FiltroExportacaoAdocoesDto(LocalDateTime.of(2026, 1, 1, 0, 0), null, StatusAdocao.REPROVADO, 10L);
+        exportarAoPercorrer(filtro, new AdocaoExportadaDto(11L, LocalDateTime.of(2026, 1, 2, 10, 30), StatusAdocao.REPROVADO,
+                "Fulano", "Miau", "Abrigo feliz", "Gosto de gatos, muito", "Tutor disse \"não\" ao termo"));
+
+        //ACT
+        var response = exportar(get("/adocoes/exportacao")
+                .param("formato", "csv")
+                .param("inicio", "2026-01-01T00:00:00")
+                .param("status", "REPROVADO")
+                .param("since", "10"));
+
+        //ASSERT
+        Assertions.assertThat(response.getResponse().getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(response.getResponse().getContentType()).startsWith("text/csv");
+        Assertions.assertThat(response.getResponse().getContentAsString(StandardCharsets.UTF_8)).isEqualTo("""
+                id,data,status,tutor,pet,abrigo,motivo,justificativa_status
+                11,2026-01-02T10:30,REPROVADO,Fulano,Miau,Abrigo feliz,"Gosto de gatos, muito","Tutor disse ""não"" ao termo"
+                """);
+
+    }
+
+    @Test
+    @DisplayName("Deve exportar o histórico de adoções em NDJSON compactado quando o cliente aceitar gzip")
+    void exportarHistoricoEmNdjsonCompactado() throws Exception {
+
+        //ARRANGE
+        var filtro = new FiltroExportacaoAdocoesDto(null, null, null, null);
+        exportarAoPercorrer(filtro,
+                new AdocaoExportadaDto(1L, LocalDateTime.of(2026, 1, 2, 10, 30), StatusAdocao.APROVADO, "Fulano", "Miau", "Abrigo feliz", "motivo", null),
+                new AdocaoExportadaDto(2L, LocalDateTime.of(2026, 1, 3, 10, 30), StatusAdocao.AGUARDANDO_AVALIACAO, "Ciclano", "Rex", "Abrigo feliz", "motivo", null));
+
+        //ACT
+        var response = exportar(get("/adocoes/exportacao").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+
+        //ASSERT
+        Assertions.assertThat(response.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        Assertions.assertThat(descompactar(response.getResponse().getContentAsByteArray()).lines())
+                .hasSize(2)
+                .allSatisfy(linha -> Assertions.assertThat(linha).startsWith("{\"id\":"))
+                .last().asString().contains("\"status\":\"AGUARDANDO_AVALIACAO\"");
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver 400 ao exportar o histórico de adoções em formato desconhecido")
+    void exportarHistoricoEmFormatoDesconhecido() throws Exception {
+
+        //ACT
+        var response = mockMvc.perform(get("/adocoes/exportacao").param("formato", "xml")).andReturn().getResponse();
+
+        //ASSERT
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver 429 sem abrir o cursor quando o limite de exportações simultâneas for atingido")
+    void exportarHistoricoComLimiteAtingido() throws Exception {
+
+        //ARRANGE
+        Assertions.assertThat(limiteExportacoes.tentarIniciar()).isTrue();
+        Assertions.assertThat(limiteExportacoes.tentarIniciar()).isTrue();
+
+        //ACT
+        MockHttpServletResponse response;
+        try {
+            response = mockMvc.perform(get("/adocoes/exportacao")).andReturn().getResponse();
+        } finally {
+            limiteExportacoes.finalizar();
+            limiteExportacoes.finalizar();
+        }
+
+        //ASSERT
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        Assertions.assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        BDDMockito.then(adocaoService).should(never()).percorrerHistorico(any(), any());
+
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga da exportação mesmo quando a leitura do histórico falhar")
+    void exportarHistoricoLiberaVagaAoFalhar() throws Exception {
+
+        //ARRANGE
+        BDDMockito.willThrow(new QueryTimeoutException("timeout")).given(adocaoService).percorrerHistorico(any(), any());
+
+        //ACT
+        for (int i = 0; i < 3; i++) {
+            Object resultado = mockMvc.perform(get("/adocoes/exportacao")).andReturn().getAsyncResult();
+            Assertions.assertThat(resultado).isInstanceOf(QueryTimeoutException.class);
+        }
+
+        //ASSERT
+        Assertions.assertThat(limiteExportacoes.tentarIniciar()).isTrue();
+        Assertions.assertThat(limiteExportacoes.tentarIniciar()).isTrue();
+        limiteExportacoes.finalizar();
+        limiteExportacoes.finalizar();
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private void exportarAoPercorrer(FiltroExportacaoAdocoesDto filtro, AdocaoExportadaDto... adocoes) {
+        willAnswer(invocacao -> {
+            Consumer<AdocaoExportadaDto> consumidor = invocacao.getArgument(1);
+            for (AdocaoExportadaDto adocao : adocoes) {
+                consumidor.accept(adocao);
+            }
+            return null;
+        }).given(adocaoService).percorrerHistorico(BDDMockito.eq(filtro), any(Consumer.class));
+    }
+
+    private MvcResult exportar(RequestBuilder requisicao) throws Exception {
+        MvcResult inicio = mockMvc.perform(requisicao).andReturn();
+        return mockMvc.perform(asyncDispatch(inicio)).andReturn();
+    }
+
+    private String descompactar(byte[] conteudo) throws IOException {
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(conteudo))) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+}
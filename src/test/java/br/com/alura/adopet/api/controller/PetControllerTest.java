@@ -1,6 +1,15 @@
 package br.com.alura.adopet.api.controller;
 
+import br.com.alura.adopet.api.dto.FaixaIdade;
+import br.com.alura.adopet.api.dto.FiltroBuscaPetDto;
+import br.com.alura.adopet.api.dto.FiltroFacetasPetDto;
+import br.com.alura.adopet.api.dto.OrdenacaoBuscaPet;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
 import br.com.alura.adopet.api.service.PetService;
+import br.com.alura.adopet.api.service.VersoesListagens;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,11 +18,20 @@ import org.springframework.boot.test.autoconfigure.json.AutoConfigureJsonTesters
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 
 @SpringBootTest
@@ -27,6 +45,9 @@ class PetControllerTest {
     @MockBean
     private PetService service;
 
+    @Autowired
+    private VersoesListagens versoesListagens;
+
     @Test
     @DisplayName("Deve listar os pets disponíveis")
     void listarPetsDisponiveis() throws Exception {
@@ -37,9 +58,193 @@ class PetControllerTest {
         ).andReturn().getResponse();
 
         //ASSERT
-        then(service).should().buscarPetsDisponiveis();
+        then(service).should().buscarPetsDisponiveis(0L, 20);
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+
+    }
+
+    @Test
+    @DisplayName("Deve listar os pets disponíveis a partir do cursor informado, respeitando o limite máximo")
+    void listarPetsDisponiveisComCursor() throws Exception {
+
+        //ACT
+        var response = mockMvc.perform(
+                get("/pets").param("after", "10").param("limit", "1000")
+        ).andReturn().getResponse();
+
+        //ASSERT
+        then(service).should().buscarPetsDisponiveis(10L, 100);
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver 304 sem consultar os pets quando a ETag do cliente estiver atualizada")
+    void listarPetsDisponiveisComEtagAtualizada() throws Exception {
+
+        //ARRANGE
+        String etag = mockMvc.perform(get("/pets")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //ACT
+        var response = mockMvc.perform(
+                get("/pets").header(HttpHeaders.IF_NONE_MATCH, etag)
+        ).andReturn().getResponse();
+
+        //ASSERT
+        Assertions.assertThat(etag).isNotBlank();
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        then(service).should(times(1)).buscarPetsDisponiveis(0L, 20);
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver a listagem novamente quando os dados mudarem depois da ETag do cliente")
+    void listarPetsDisponiveisComEtagDesatualizada() throws Exception {
+
+        //ARRANGE
+        String etag = mockMvc.perform(get("/pets")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        versoesListagens.registrarAlteracao(1l);
+
+        //ACT
+        var response = mockMvc.perform(
+                get("/pets").header(HttpHeaders.IF_NONE_MATCH, etag)
+        ).andReturn().getResponse();
+
+        //ASSERT
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+
+    }
+
+    @Test
+    @DisplayName("Deve repassar ao serviço os filtros, a ordenação e o cursor da busca de pets")
+    void buscarPets() throws Exception {
+
+        //ACT
+        var response = mockMvc.perform(
+                get("/pets/busca")
+                        .param("tipo", "GATO")
+                        .param("idadeMinima", "1")
+                        .param("idadeMaxima", "5")
+                        .param("pesoMaximo", "6.5")
+                        .param("cor", "Cinza")
+                        .param("texto", "miau")
+                        .param("ordenacao", "IDADE")
+                        .param("after", "2:10")
+                        .param("limit", "1000")
+        ).andReturn().getResponse();
+
+        //ASSERT
+        var filtro = new FiltroBuscaPetDto(TipoPet.GATO, 1, 5, null, 6.5f, "Cinza", null, "miau");
+        then(service).should().buscarPets(filtro, OrdenacaoBuscaPet.IDADE, "2:10", 100);
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver 400 quando o cursor da busca for inválido")
+    void buscarPetsComCursorInvalido() throws Exception {
+
+        //ARRANGE
+        given(service.buscarPets(any(), any(), any(), any(Integer.class))).willThrow(new ValidacaoException("Cursor de busca inválido"));
+
+        //ACT
+        var response = mockMvc.perform(
+                get("/pets/busca").param("ordenacao", "IDADE").param("after", "abc")
+        ).andReturn().getResponse();
+
+        //ASSERT
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+
+    }
+
+    @Test
+    @DisplayName("Deve repassar ao serviço as facetas selecionadas na busca por facetas")
+    void buscarPetsPorFacetas() throws Exception {
+
+        //ACT
+        var response = mockMvc.perform(
+                get("/pets/facetas").param("tipo", "CACHORRO").param("faixaIdade", "JOVEM").param("abrigo", "3").param("after", "40")
+        ).andReturn().getResponse();
+
+        //ASSERT
+        then(service).should().buscarPorFacetas(new FiltroFacetasPetDto(TipoPet.CACHORRO, FaixaIdade.JOVEM, null, null, 3L), 40L, 20);
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver 304 na busca por facetas quando a ETag informada for a versão atual do índice")
+    void buscarPetsPorFacetasSemAlteracaoNoIndice() throws Exception {
+
+        //ARRANGE
+        given(service.etagFacetas()).willReturn("\"indice-abc-7\"");
+
+        //ACT
+        var response = mockMvc.perform(
+                get("/pets/facetas").header(HttpHeaders.IF_NONE_MATCH, "\"indice-abc-7\"")
+        ).andReturn().getResponse();
+
+        //ASSERT
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        then(service).should(times(0)).buscarPorFacetas(any(), any(), any(Integer.class));
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver 400 na busca por facetas quando o cursor não for um id de pet válido")
+    void buscarPetsPorFacetasComCursorInvalido() throws Exception {
+
+        //ACT
+        var acimaDoLimite = mockMvc.perform(get("/pets/facetas").param("after", "2147483648")).andReturn().getResponse();
+        var negativo = mockMvc.perform(get("/pets/facetas").param("after", "-5")).andReturn().getResponse();
+
+        //ASSERT
+        Assertions.assertThat(acimaDoLimite.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        Assertions.assertThat(negativo.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        then(service).should(times(0)).buscarPorFacetas(any(), any(), any(Integer.class));
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver 404 na busca por facetas quando o índice em memória estiver desabilitado")
+    void buscarPetsPorFacetasComIndiceDesabilitado() throws Exception {
+
+        //ARRANGE
+        given(service.buscarPorFacetas(any(), any(), any(Integer.class))).willThrow(new ValidacaoException("Busca por facetas desabilitada"));
+
+        //ACT
+        var response = mockMvc.perform(get("/pets/facetas")).andReturn().getResponse();
+
+        //ASSERT
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+
+    }
+
+    @Test
+    @DisplayName("Deve exportar os pets disponíveis em NDJSON, um pet por linha")
+    @SuppressWarnings("unchecked")
+    void exportarPetsDisponiveis() throws Exception {
+
+        //ARRANGE
+        willAnswer(invocacao -> {
+            Consumer<PetDto> consumidor = invocacao.getArgument(0);
+            consumidor.accept(new PetDto(1L, TipoPet.GATO, "Miau", "Siames", 4, ProbabilidadeAdocao.ALTA));
+            consumidor.accept(new PetDto(2L, TipoPet.CACHORRO, "Rex", "Vira-lata", 2, ProbabilidadeAdocao.MEDIA));
+            return null;
+        }).given(service).percorrerPetsDisponiveis(any(Consumer.class));
+
+        //ACT
+        var inicio = mockMvc.perform(get("/pets/exportacao")).andReturn();
+        var response = mockMvc.perform(asyncDispatch(inicio)).andReturn().getResponse();
+
+        //ASSERT
         Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(response.getContentAsString(StandardCharsets.UTF_8).lines())
+                .containsExactly(
+                        "{\"id\":1,\"tipo\":\"GATO\",\"nome\":\"Miau\",\"raca\":\"Siames\",\"idade\":4,\"probabilidadeAdocao\":\"ALTA\"}",
+                        "{\"id\":2,\"tipo\":\"CACHORRO\",\"nome\":\"Rex\",\"raca\":\"Vira-lata\",\"idade\":2,\"probabilidadeAdocao\":\"MEDIA\"}");
 
     }
 
-}
\ No newline at end of file
+}
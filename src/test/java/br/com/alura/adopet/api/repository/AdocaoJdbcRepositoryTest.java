@@ -0,0 +1,99 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.AdocaoExportadaDto;
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.dto.FiltroExportacaoAdocoesDto;
+import br.com.alura.adopet.api.model.*;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@DataJpaTest
+@Import(AdocaoJdbcRepository.class)
+class AdocaoJdbcRepositoryTest {
+
+    @Autowired
+    private AdocaoJdbcRepository jdbcRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private Adocao janeiro;
+
+    private Adocao fevereiro;
+
+    private Adocao marco;
+
+    @BeforeEach
+    void cadastrarAdocoes() {
+        Abrigo abrigo = em.persist(new Abrigo(new CadastroAbrigoDto("Abrigo feliz", "85999999999", "abrigofeliz@gmail.com")));
+        Tutor tutor = em.persist(new Tutor(new CadastroTutorDto("Fulano", "85988888888", "fulano@email.com")));
+        janeiro = cadastrarAdocao(abrigo, tutor, "Miau", LocalDateTime.of(2026, 1, 10, 9, 0));
+        fevereiro = cadastrarAdocao(abrigo, tutor, "Rex", LocalDateTime.of(2026, 2, 10, 9, 0));
+        marco = cadastrarAdocao(abrigo, tutor, "Bidu", LocalDateTime.of(2026, 3, 10, 9, 0));
+        em.clear();
+        em.find(Adocao.class, fevereiro.getId()).marcarComoAprovada();
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("Deve exportar todas as adoções em ordem de id com os nomes do tutor, do pet e do abrigo")
+    void cenario01() {
+
+        //ACT
+        List<AdocaoExportadaDto> adocoes = exportar(new FiltroExportacaoAdocoesDto(null, null, null, null));
+
+        //ASSERT
+        Assertions.assertThat(adocoes).extracting(AdocaoExportadaDto::id).containsExactly(janeiro.getId(), fevereiro.getId(), marco.getId());
+        Assertions.assertThat(adocoes.get(0)).isEqualTo(new AdocaoExportadaDto(janeiro.getId(), LocalDateTime.of(2026, 1, 10, 9, 0),
+                StatusAdocao.AGUARDANDO_AVALIACAO, "Fulano", "Miau", "Abrigo feliz", "motivo", null));
+
+    }
+
+    @Test
+    @DisplayName("Deve exportar apenas as adoções do período, do status e posteriores ao cursor informados")
+    void cenario02() {
+
+        //ACT
+        List<AdocaoExportadaDto> porPeriodo = exportar(new FiltroExportacaoAdocoesDto(
+                LocalDateTime.of(2026, 2, 1, 0, 0), LocalDateTime.of(2026, 3, 10, 9, 0), null, null));
+        List<AdocaoExportadaDto> porStatus = exportar(new FiltroExportacaoAdocoesDto(null, null, StatusAdocao.AGUARDANDO_AVALIACAO, null));
+        List<AdocaoExportadaDto> aposCursor = exportar(new FiltroExportacaoAdocoesDto(null, null, null, janeiro.getId()));
+
+        //ASSERT
+        Assertions.assertThat(porPeriodo).extracting(AdocaoExportadaDto::pet).containsExactly("Rex");
+        Assertions.assertThat(porStatus).extracting(AdocaoExportadaDto::pet).containsExactly("Miau", "Bidu");
+        Assertions.assertThat(aposCursor).extracting(AdocaoExportadaDto::pet).containsExactly("Rex", "Bidu");
+
+    }
+
+    private Adocao cadastrarAdocao(Abrigo abrigo, Tutor tutor, String nomePet, LocalDateTime data) {
+        Pet pet = em.persist(new Pet(new CadastroPetDto(TipoPet.GATO, nomePet, "Siames", 4, "Cinza", 4.0f), abrigo, ProbabilidadeAdocao.ALTA));
+        Adocao adocao = em.persistAndFlush(new Adocao(tutor, pet, "motivo"));
+        em.getEntityManager()
+                .createNativeQuery("update adocoes set data = ? where id = ?")
+                .setParameter(1, data)
+                .setParameter(2, adocao.getId())
+                .executeUpdate();
+        return adocao;
+    }
+
+    private List<AdocaoExportadaDto> exportar(FiltroExportacaoAdocoesDto filtro) {
+        List<AdocaoExportadaDto> adocoes = new ArrayList<>();
+        jdbcRepository.percorrerHistorico(filtro, adocoes::add);
+        return adocoes;
+    }
+
+}
@@ -0,0 +1,77 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.model.*;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AdocaoRepositoryTest {
+
+    @Autowired
+    private AdocaoRepository repository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private Adocao adocao;
+
+    @BeforeEach
+    void cadastrarAdocao() {
+        Abrigo abrigo = em.persist(new Abrigo(new CadastroAbrigoDto("Abrigo feliz", "85999999999", "abrigofeliz@gmail.com")));
+        Pet pet = em.persist(new Pet(new CadastroPetDto(TipoPet.GATO, "Miau", "Siames", 4, "Cinza", 4.0f), abrigo, ProbabilidadeAdocao.ALTA));
+        Tutor tutor = em.persist(new Tutor(new CadastroTutorDto("Fulano", "85988888888", "fulano@email.com")));
+        adocao = em.persist(new Adocao(tutor, pet, "motivo"));
+        em.flush();
+        em.clear();
+        estatisticas().clear();
+    }
+
+    @Test
+    @DisplayName("Deve carregar adoção, pet, abrigo e tutor para avaliação com uma única consulta")
+    void cenario01() {
+
+        //ACT
+        Adocao carregada = repository.carregarParaAvaliacao(adocao.getId()).orElseThrow();
+        String abrigo = carregada.getPet().getAbrigo().getNome();
+        String pet = carregada.getPet().getNome();
+        String tutor = carregada.getTutor().getNome();
+
+        //ASSERT
+        Assertions.assertThat(abrigo).isEqualTo("Abrigo feliz");
+        Assertions.assertThat(pet).isEqualTo("Miau");
+        Assertions.assertThat(tutor).isEqualTo("Fulano");
+        Assertions.assertThat(estatisticas().getPrepareStatementCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("Deve carregar a elegibilidade com os dados do pet e do abrigo para a notificação em uma única consulta")
+    void cenario02() {
+
+        //ACT
+        var elegibilidade = repository.carregarElegibilidade(adocao.getPet().getId(), adocao.getTutor().getId()).orElseThrow();
+
+        //ASSERT
+        Assertions.assertThat(elegibilidade.petComAdocaoEmAndamento()).isTrue();
+        Assertions.assertThat(elegibilidade.nomePet()).isEqualTo("Miau");
+        Assertions.assertThat(elegibilidade.nomeAbrigo()).isEqualTo("Abrigo feliz");
+        Assertions.assertThat(elegibilidade.emailAbrigo()).isEqualTo("abrigofeliz@gmail.com");
+        Assertions.assertThat(estatisticas().getPrepareStatementCount()).isEqualTo(1);
+
+    }
+
+    private Statistics estatisticas() {
+        return em.getEntityManager().unwrap(Session.class).getSessionFactory().getStatistics();
+    }
+
+}
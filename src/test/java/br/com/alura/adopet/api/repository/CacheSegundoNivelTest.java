@@ -0,0 +1,90 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.AtualizacaoTutorDto;
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Tutor;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    @Autowired
+    private AbrigoRepository abrigoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+
+    @BeforeEach
+    void configurar() {
+        transacao = new TransactionTemplate(transactionManager);
+        tutorRepository.deleteAll();
+        abrigoRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Abrigo já lido deve ser carregado do cache nas próximas transações, sem ir ao banco")
+    void cenario01() {
+
+        //ARRANGE
+        Long id = abrigoRepository.save(new Abrigo(new CadastroAbrigoDto("Abrigo feliz", "85999999999", "abrigofeliz@gmail.com"))).getId();
+        transacao.executeWithoutResult(status -> abrigoRepository.findById(id).orElseThrow());
+        estatisticas().clear();
+
+        //ACT
+        String nome = transacao.execute(status -> abrigoRepository.findById(id).orElseThrow().getNome());
+
+        //ASSERT
+        Assertions.assertThat(nome).isEqualTo("Abrigo feliz");
+        Assertions.assertThat(estatisticas().getPrepareStatementCount()).isZero();
+        Assertions.assertThat(estatisticas().getDomainDataRegionStatistics("abrigos").getHitCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("Dados atualizados do tutor devem ser vistos pelas próximas leituras do cache")
+    void cenario02() {
+
+        //ARRANGE
+        Long id = tutorRepository.save(new Tutor(new CadastroTutorDto("Fulano", "85988888888", "fulano@email.com"))).getId();
+        transacao.executeWithoutResult(status -> tutorRepository.findById(id).orElseThrow());
+
+        //ACT
+        transacao.executeWithoutResult(status -> tutorRepository.findById(id).orElseThrow()
+                .atualizarDados(new AtualizacaoTutorDto(id, "Ciclano", "85977777777", "ciclano@email.com")));
+        estatisticas().clear();
+        Tutor tutor = transacao.execute(status -> tutorRepository.findById(id).orElseThrow());
+
+        //ASSERT
+        Assertions.assertThat(tutor.getNome()).isEqualTo("Ciclano");
+        Assertions.assertThat(estatisticas().getPrepareStatementCount()).isZero();
+
+    }
+
+    private Statistics estatisticas() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+}
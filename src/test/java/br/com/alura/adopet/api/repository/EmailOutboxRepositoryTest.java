@@ -0,0 +1,53 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.model.EmailOutbox;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * reservarPendentes fica de fora porque o H2 não suporta "skip locked".
+ */
+@DataJpaTest
+class EmailOutboxRepositoryTest {
+
+    @Autowired
+    private EmailOutboxRepository repository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    @DisplayName("Deve marcar como enviados apenas os emails informados e reagendar os que falharam")
+    void cenario01() {
+
+        //ARRANGE
+        var enviado = em.persist(new EmailOutbox("abrigo@email.com", "assunto", "mensagem"));
+        var comFalha = em.persist(new EmailOutbox("falha@email.com", "assunto", "mensagem"));
+        var abandonado = em.persist(new EmailOutbox("inexistente@email.com", "assunto", "mensagem"));
+        em.flush();
+        var dataEnvio = LocalDateTime.of(2026, 1, 1, 10, 0);
+        var proximaTentativa = LocalDateTime.of(2026, 1, 1, 10, 5);
+
+        //ACT
+        repository.marcarComoEnviados(List.of(enviado.getId()), dataEnvio);
+        repository.reagendar(comFalha.getId(), proximaTentativa);
+        repository.reagendar(abandonado.getId(), null);
+        em.clear();
+
+        //ASSERT
+        Assertions.assertThat(repository.findById(enviado.getId()).orElseThrow().getDataEnvio()).isEqualTo(dataEnvio);
+        Assertions.assertThat(repository.findById(comFalha.getId()).orElseThrow())
+                .extracting(EmailOutbox::getDataEnvio, EmailOutbox::getProximaTentativa)
+                .containsExactly(null, proximaTentativa);
+        Assertions.assertThat(repository.findById(abandonado.getId()).orElseThrow().getProximaTentativa()).isNull();
+
+    }
+
+}
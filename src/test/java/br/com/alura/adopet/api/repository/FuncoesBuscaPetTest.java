@@ -0,0 +1,52 @@
+package br.com.alura.adopet.api.repository;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FuncoesBuscaPetTest {
+
+    @Test
+    @DisplayName("Deve separar o texto em palavras sem nenhum operador do boolean mode do MySQL")
+    void cenario01() {
+
+        //ACT
+        var palavras = FuncoesBuscaPet.palavras("rex@ +persa* -(vira-lata) ~\"tom\" <miau> 3anos");
+
+        //ASSERT
+        Assertions.assertThat(palavras).containsExactly("rex", "persa", "vira", "lata", "tom");
+        Assertions.assertThat(String.join("", palavras)).doesNotContainPattern("[+\\-@*\"()<>~]");
+
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de palavras e ignorar as repetidas")
+    void cenario02() {
+
+        //ACT
+        var palavras = FuncoesBuscaPet.palavras("gato gato preto branco cinza pequeno grande");
+
+        //ASSERT
+        Assertions.assertThat(palavras)
+                .hasSize(FuncoesBuscaPet.MAXIMO_PALAVRAS)
+                .containsExactly("gato", "preto", "branco", "cinza", "pequeno");
+
+    }
+
+    @Test
+    @DisplayName("No MySQL a busca deve usar o full-text por prefixo da palavra e nos demais bancos a busca por substring")
+    void cenario03() {
+
+        //ACT
+        String mysql = FuncoesBuscaPet.padrao(new MySQLDialect());
+        String h2 = FuncoesBuscaPet.padrao(new H2Dialect());
+
+        //ASSERT
+        Assertions.assertThat(mysql).isEqualTo("match(?1, ?2) against (concat(?3, '*') in boolean mode)");
+        Assertions.assertThat(h2).startsWith("locate(");
+
+    }
+
+}
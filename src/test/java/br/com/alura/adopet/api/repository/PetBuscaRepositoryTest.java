@@ -0,0 +1,140 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.CursorBuscaPetDto;
+import br.com.alura.adopet.api.dto.FiltroBuscaPetDto;
+import br.com.alura.adopet.api.dto.OrdenacaoBuscaPet;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+@DataJpaTest
+@Import(PetBuscaRepository.class)
+class PetBuscaRepositoryTest {
+
+    @Autowired
+    private PetBuscaRepository repository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @BeforeEach
+    void cadastrarPets() {
+        Abrigo abrigo = em.persist(new Abrigo(new CadastroAbrigoDto("Abrigo feliz", "85999999999", "abrigofeliz@gmail.com")));
+        em.persist(new Pet(new CadastroPetDto(TipoPet.GATO, "Miau", "Siames", 4, "Cinza", 4.0f), abrigo, ProbabilidadeAdocao.ALTA));
+        em.persist(new Pet(new CadastroPetDto(TipoPet.GATO, "Frajola", "Persa", 2, "Preto", 3.0f), abrigo, ProbabilidadeAdocao.ALTA));
+        em.persist(new Pet(new CadastroPetDto(TipoPet.GATO, "Tom", "Siames", 2, "Cinza", 5.0f), abrigo, ProbabilidadeAdocao.ALTA));
+        em.persist(new Pet(new CadastroPetDto(TipoPet.CACHORRO, "Rex", "Vira-lata", 10, "Preto", 12.0f), abrigo, ProbabilidadeAdocao.MEDIA));
+        Pet adotado = em.persist(new Pet(new CadastroPetDto(TipoPet.GATO, "Garfield", "Persa", 3, "Laranja", 6.0f), abrigo, ProbabilidadeAdocao.ALTA));
+        adotado.marcarComoAdotado();
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("Deve combinar os filtros informados e ignorar os pets já adotados")
+    void cenario01() {
+
+        //ARRANGE
+        var filtro = new FiltroBuscaPetDto(TipoPet.GATO, 2, 4, 3.5f, null, "Cinza", null, null);
+
+        //ACT
+        List<PetDto> pets = repository.buscar(filtro, OrdenacaoBuscaPet.ID, CursorBuscaPetDto.inicio(), 10);
+
+        //ASSERT
+        Assertions.assertThat(pets).extracting(PetDto::nome).containsExactly("Miau", "Tom");
+
+    }
+
+    @Test
+    @DisplayName("Deve encontrar pets pelo nome ou pela raça na busca por texto")
+    void cenario02() {
+
+        //ARRANGE
+        var filtro = new FiltroBuscaPetDto(null, null, null, null, null, null, null, "persa");
+
+        //ACT
+        List<PetDto> pets = repository.buscar(filtro, OrdenacaoBuscaPet.ID, CursorBuscaPetDto.inicio(), 10);
+
+        //ASSERT
+        Assertions.assertThat(pets).extracting(PetDto::nome).containsExactly("Frajola");
+
+    }
+
+    @Test
+    @DisplayName("Deve ignorar os operadores do boolean mode digitados na busca por texto")
+    void cenario04() {
+
+        //ARRANGE
+        var filtro = new FiltroBuscaPetDto(null, null, null, null, null, null, null, "rex@ +(vira-lata*)");
+
+        //ACT
+        List<PetDto> pets = repository.buscar(filtro, OrdenacaoBuscaPet.ID, CursorBuscaPetDto.inicio(), 10);
+
+        //ASSERT
+        Assertions.assertThat(pets).extracting(PetDto::nome).containsExactly("Rex");
+
+    }
+
+    @Test
+    @DisplayName("Deve exigir todas as palavras da busca por texto")
+    void cenario05() {
+
+        //ARRANGE
+        var filtro = new FiltroBuscaPetDto(null, null, null, null, null, null, null, "tom siames");
+
+        //ACT
+        List<PetDto> pets = repository.buscar(filtro, OrdenacaoBuscaPet.ID, CursorBuscaPetDto.inicio(), 10);
+
+        //ASSERT
+        Assertions.assertThat(pets).extracting(PetDto::nome).containsExactly("Tom");
+
+    }
+
+    @Test
+    @DisplayName("Não deve encontrar pets quando o texto buscado não tiver letras nem dígitos")
+    void cenario06() {
+
+        //ARRANGE
+        var filtro = new FiltroBuscaPetDto(null, null, null, null, null, null, null, "@+-*");
+
+        //ACT
+        List<PetDto> pets = repository.buscar(filtro, OrdenacaoBuscaPet.ID, CursorBuscaPetDto.inicio(), 10);
+
+        //ASSERT
+        Assertions.assertThat(pets).isEmpty();
+
+    }
+
+    @Test
+    @DisplayName("Deve paginar por idade sem repetir nem pular pets da mesma idade")
+    void cenario03() {
+
+        //ARRANGE
+        var filtro = new FiltroBuscaPetDto(TipoPet.GATO, null, null, null, null, null, null, null);
+        List<PetDto> primeiraPagina = repository.buscar(filtro, OrdenacaoBuscaPet.IDADE, CursorBuscaPetDto.inicio(), 1);
+        PetDto ultimo = primeiraPagina.get(0);
+
+        //ACT
+        List<PetDto> segundaPagina = repository.buscar(filtro, OrdenacaoBuscaPet.IDADE, new CursorBuscaPetDto(ultimo.idade(), ultimo.id()), 10);
+
+        //ASSERT
+        Assertions.assertThat(primeiraPagina).extracting(PetDto::nome).containsExactly("Frajola");
+        Assertions.assertThat(segundaPagina).extracting(PetDto::nome).containsExactly("Tom", "Miau");
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.PetIndexadoDto;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.service.CalculadoraProbabilidadeAdocao;
+import br.com.alura.adopet.api.service.RegrasProbabilidadeAdocao;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+@DataJpaTest
+@Import(PetJdbcRepository.class)
+class PetJdbcRepositoryTest {
+
+    @Autowired
+    private PetJdbcRepository jdbcRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    @DisplayName("Deve inserir todos os pets do lote no abrigo como disponíveis")
+    void cenario01() {
+
+        //ARRANGE
+        var abrigo = em.persistAndFlush(new Abrigo(new CadastroAbrigoDto("Abrigo feliz", "85999999999", "abrigofeliz@gmail.com")));
+        var pets = List.of(
+                new CadastroPetDto(TipoPet.GATO, "Miau", "Siames", 4, "Cinza", 4.0f),
+                new CadastroPetDto(TipoPet.CACHORRO, "Rex", "Vira-lata", 2, "Preto", 12.0f));
+
+        //ACT
+        var inseridos = jdbcRepository.inserirEmLote(abrigo, pets, new CalculadoraProbabilidadeAdocao());
+
+        //ASSERT
+        Assertions.assertThat(petRepository.listarPorAbrigo(abrigo))
+                .extracting(PetDto::id, PetDto::nome)
+                .containsExactlyInAnyOrderElementsOf(inseridos.stream()
+                        .map(pet -> Assertions.tuple(pet.id(), pet.nome()))
+                        .toList());
+        Assertions.assertThat(inseridos)
+                .extracting(PetIndexadoDto::nome, PetIndexadoDto::idAbrigo)
+                .containsExactly(Assertions.tuple("Miau", abrigo.getId()), Assertions.tuple("Rex", abrigo.getId()));
+
+    }
+
+    @Test
+    @DisplayName("Deve regravar a probabilidade dos pets disponíveis que mudaram de faixa e informar os abrigos afetados")
+    void cenario02() {
+
+        //ARRANGE
+        var abrigoCachorros = em.persistAndFlush(new Abrigo(new CadastroAbrigoDto("Abrigo feliz", "85999999999", "abrigofeliz@gmail.com")));
+        var abrigoGatos = em.persistAndFlush(new Abrigo(new CadastroAbrigoDto("Abrigo dos gatos", "85988888888", "abrigogatos@gmail.com")));
+        var calculadora = new CalculadoraProbabilidadeAdocao();
+        jdbcRepository.inserirEmLote(abrigoCachorros, List.of(
+                new CadastroPetDto(TipoPet.CACHORRO, "Rex", "Vira-lata", 2, "Preto", 20.0f),
+                new CadastroPetDto(TipoPet.CACHORRO, "Bidu", "Vira-lata", 2, "Caramelo", 8.0f)), calculadora);
+        jdbcRepository.inserirEmLote(abrigoGatos, List.of(
+                new CadastroPetDto(TipoPet.GATO, "Miau", "Siames", 4, "Cinza", 4.0f)), calculadora);
+        var novasRegras = new CalculadoraProbabilidadeAdocao(new RegrasProbabilidadeAdocao(10, 8, 5, Map.of(
+                TipoPet.CACHORRO, new RegrasProbabilidadeAdocao.RegrasTipo(15, 6, List.of()),
+                TipoPet.GATO, new RegrasProbabilidadeAdocao.RegrasTipo(10, 2, List.of()))));
+
+        //ACT
+        var abrigosAlterados = jdbcRepository.reclassificarProbabilidades(novasRegras, 1);
+
+        //ASSERT
+        Assertions.assertThat(abrigosAlterados).containsExactly(abrigoCachorros.getId());
+        Assertions.assertThat(petRepository.listarPorAbrigo(abrigoCachorros))
+                .extracting(PetDto::nome, PetDto::probabilidadeAdocao)
+                .containsExactlyInAnyOrder(
+                        Assertions.tuple("Rex", ProbabilidadeAdocao.BAIXA),
+                        Assertions.tuple("Bidu", ProbabilidadeAdocao.ALTA));
+        Assertions.assertThat(petRepository.listarPorAbrigo(abrigoGatos))
+                .extracting(PetDto::probabilidadeAdocao)
+                .containsExactly(ProbabilidadeAdocao.ALTA);
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+@DataJpaTest
+class PetRepositoryTest {
+
+    @Autowired
+    private PetRepository repository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private Abrigo abrigo;
+
+    private Pet miau;
+
+    private Pet rex;
+
+    @BeforeEach
+    void cadastrarPets() {
+        abrigo = em.persist(new Abrigo(new CadastroAbrigoDto("Abrigo feliz", "85999999999", "abrigofeliz@gmail.com")));
+        miau = em.persist(new Pet(new CadastroPetDto(TipoPet.GATO, "Miau", "Siames", 4, "Cinza", 4.0f), abrigo, ProbabilidadeAdocao.ALTA));
+        rex = em.persist(new Pet(new CadastroPetDto(TipoPet.CACHORRO, "Rex", "Vira-lata", 10, "Preto", 12.0f), abrigo, ProbabilidadeAdocao.MEDIA));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("Deve listar os pets disponíveis após o cursor sem carregar entidades no contexto de persistência")
+    void cenario01() {
+
+        //ACT
+        List<PetDto> pets = repository.listarDisponiveis(miau.getId(), PageRequest.ofSize(10));
+
+        //ASSERT
+        Assertions.assertThat(pets).extracting(PetDto::nome).containsExactly("Rex");
+        Assertions.assertThat(entidadesGerenciadas()).isZero();
+
+    }
+
+    @Test
+    @DisplayName("Deve listar os pets do abrigo sem carregar entidades no contexto de persistência")
+    void cenario02() {
+
+        //ACT
+        List<PetDto> pets = repository.listarPorAbrigo(abrigo);
+
+        //ASSERT
+        Assertions.assertThat(pets).extracting(PetDto::id).containsExactlyInAnyOrder(miau.getId(), rex.getId());
+        Assertions.assertThat(entidadesGerenciadas()).isZero();
+
+    }
+
+    @Test
+    @DisplayName("Deve listar apenas os pets disponíveis com a probabilidade de adoção informada")
+    void cenario03() {
+
+        //ACT
+        List<PetDto> pets = repository.listarDisponiveisPorProbabilidade(ProbabilidadeAdocao.ALTA, 0L, PageRequest.ofSize(10));
+
+        //ASSERT
+        Assertions.assertThat(pets).extracting(PetDto::nome).containsExactly("Miau");
+
+    }
+
+    private int entidadesGerenciadas() {
+        return em.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount();
+    }
+
+}
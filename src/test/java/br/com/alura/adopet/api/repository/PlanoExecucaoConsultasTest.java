@@ -0,0 +1,173 @@
+package br.com.alura.adopet.api.repository;
+
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CursorBuscaPetDto;
+import br.com.alura.adopet.api.dto.FiltroBuscaPetDto;
+import br.com.alura.adopet.api.dto.OrdenacaoBuscaPet;
+import br.com.alura.adopet.api.model.Abrigo;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.StatusAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Executa EXPLAIN, no H2 em modo MySQL, sobre o SQL gerado por cada consulta dos repositórios
+ * e falha se alguma tabela for lida por inteiro.
+ * EmailOutboxRepository.reservarPendentes fica de fora porque o H2 não suporta "skip locked".
+ */
+@DataJpaTest
+@Import(PetBuscaRepository.class)
+class PlanoExecucaoConsultasTest {
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        ColetorSql coletorSql() {
+            return new ColetorSql();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer registrarColetorSql(ColetorSql coletor) {
+            return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, coletor);
+        }
+
+    }
+
+    static class ColetorSql implements StatementInspector {
+
+        private final List<String> consultas = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.stripLeading().toLowerCase().startsWith("select")) {
+                consultas.add(sql);
+            }
+            return sql;
+        }
+
+    }
+
+    @Autowired
+    private ColetorSql coletor;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private AdocaoRepository adocaoRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private PetBuscaRepository petBuscaRepository;
+
+    @Autowired
+    private AbrigoRepository abrigoRepository;
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    private Abrigo abrigo;
+
+    @BeforeEach
+    void cadastrarAbrigo() {
+        abrigo = em.persistFlushFind(new Abrigo(new CadastroAbrigoDto("Abrigo feliz", "85999999999", "abrigofeliz@gmail.com")));
+        coletor.consultas.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+            "AdocaoRepository.existsByPetIdAndStatus",
+            "AdocaoRepository.existsByTutorIdAndStatus",
+            "AdocaoRepository.countByTutorIdAndStatus",
+            "AdocaoRepository.carregarElegibilidade",
+            "AdocaoRepository.carregarParaAvaliacao",
+            "PetRepository.listarDisponiveis",
+            "PetRepository.listarDisponiveisPorProbabilidade",
+            "PetRepository.listarPorAbrigo",
+            "PetRepository.listarDisponiveisParaIndice",
+            "PetBuscaRepository.buscar por tipo e idade",
+            "PetBuscaRepository.buscar por texto",
+            "AbrigoRepository.buscarIdPorNome",
+            "AbrigoRepository.existsByNomeOrTelefoneOrEmail",
+            "TutorRepository.existsByTelefoneOrEmail"})
+    @DisplayName("Nenhuma consulta dos repositórios deve ler uma tabela inteira")
+    void cenario01(String consulta) {
+
+        //ACT
+        executar(consulta);
+        List<String> planos = explicar(coletor.consultas);
+
+        //ASSERT
+        Assertions.assertThat(planos).isNotEmpty().allSatisfy(plano -> Assertions.assertThat(plano).doesNotContain("tableScan"));
+
+    }
+
+    private void executar(String consulta) {
+        switch (consulta) {
+            case "AdocaoRepository.existsByPetIdAndStatus" -> adocaoRepository.existsByPetIdAndStatus(1l, StatusAdocao.AGUARDANDO_AVALIACAO);
+            case "AdocaoRepository.existsByTutorIdAndStatus" -> adocaoRepository.existsByTutorIdAndStatus(1l, StatusAdocao.AGUARDANDO_AVALIACAO);
+            case "AdocaoRepository.countByTutorIdAndStatus" -> adocaoRepository.countByTutorIdAndStatus(1l, StatusAdocao.APROVADO);
+            case "AdocaoRepository.carregarElegibilidade" -> adocaoRepository.carregarElegibilidade(1l, 1l);
+            case "AdocaoRepository.carregarParaAvaliacao" -> adocaoRepository.carregarParaAvaliacao(1l);
+            case "PetRepository.listarDisponiveis" -> petRepository.listarDisponiveis(0l, PageRequest.ofSize(10));
+            case "PetRepository.listarDisponiveisPorProbabilidade" -> petRepository.listarDisponiveisPorProbabilidade(ProbabilidadeAdocao.ALTA, 0l, PageRequest.ofSize(10));
+            case "PetRepository.listarPorAbrigo" -> petRepository.listarPorAbrigo(abrigo);
+            case "PetRepository.listarDisponiveisParaIndice" -> petRepository.listarDisponiveisParaIndice(0l, PageRequest.ofSize(500));
+            case "PetBuscaRepository.buscar por tipo e idade" -> petBuscaRepository.buscar(
+                    new FiltroBuscaPetDto(TipoPet.GATO, 1, 5, 2.0f, 8.0f, "Cinza", "Siames", null),
+                    OrdenacaoBuscaPet.IDADE, new CursorBuscaPetDto(2, 1l), 10);
+            case "PetBuscaRepository.buscar por texto" -> petBuscaRepository.buscar(
+                    new FiltroBuscaPetDto(null, null, null, null, null, null, null, "miau"),
+                    OrdenacaoBuscaPet.ID, CursorBuscaPetDto.inicio(), 10);
+            case "AbrigoRepository.buscarIdPorNome" -> abrigoRepository.buscarIdPorNome("Abrigo feliz");
+            case "AbrigoRepository.existsByNomeOrTelefoneOrEmail" -> abrigoRepository.existsByNomeOrTelefoneOrEmail("nome", "telefone", "email");
+            case "TutorRepository.existsByTelefoneOrEmail" -> tutorRepository.existsByTelefoneOrEmail("telefone", "email");
+            default -> throw new IllegalArgumentException(consulta);
+        }
+    }
+
+    private List<String> explicar(List<String> consultas) {
+        return em.getEntityManager().unwrap(Session.class).doReturningWork(conexao -> {
+            List<String> planos = new ArrayList<>();
+            for (String sql : consultas) {
+                try (PreparedStatement explain = conexao.prepareStatement("explain " + sql)) {
+                    int parametros = explain.getParameterMetaData().getParameterCount();
+                    for (int i = 1; i <= parametros; i++) {
+                        explain.setObject(i, null);
+                    }
+                    try (ResultSet plano = explain.executeQuery()) {
+                        while (plano.next()) {
+                            planos.add(plano.getString(1));
+                        }
+                    }
+                }
+            }
+            return planos;
+        });
+    }
+
+}
@@ -0,0 +1,36 @@
+package br.com.alura.adopet.api.repository;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import(VersaoListagemJdbcRepository.class)
+class VersaoListagemJdbcRepositoryTest {
+
+    @Autowired
+    private VersaoListagemJdbcRepository repository;
+
+    @Test
+    @DisplayName("Deve começar na versão zero e incrementar apenas a chave alterada")
+    void cenario01() {
+
+        //ACT
+        long inicial = repository.buscar("abrigo-1");
+        repository.incrementar("abrigo-1");
+        repository.incrementar("abrigo-1");
+        repository.incrementar("global");
+
+        //ASSERT
+        Assertions.assertThat(inicial).isZero();
+        Assertions.assertThat(repository.buscar("abrigo-1")).isEqualTo(2);
+        Assertions.assertThat(repository.buscar("global")).isEqualTo(1);
+        Assertions.assertThat(repository.buscar("abrigo-2")).isZero();
+        Assertions.assertThat(repository.buscarTodas()).containsEntry("abrigo-1", 2L).containsEntry("global", 1L);
+
+    }
+
+}
@@ -5,20 +5,26 @@ import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Abrigo;
 import br.com.alura.adopet.api.repository.AbrigoRepository;
 import br.com.alura.adopet.api.repository.PetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.util.Assert;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +42,14 @@ class AbrigoServiceTest {
     @Mock
     private PetRepository petRepository;
 
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private CacheAbrigos cacheAbrigos = new CacheAbrigos(100, Duration.ofMinutes(10), meterRegistry);
+
+    @Mock
+    private VersoesListagens versoesListagens;
+
     @InjectMocks
     private AbrigoService abrigoService;
 
@@ -57,13 +71,14 @@ class AbrigoServiceTest {
         //arrange
 
         var nome = "Miau";
-        given(abrigoRepository.findByNome(nome)).willReturn(Optional.of(abrigo));
+        given(abrigoRepository.buscarIdPorNome(nome)).willReturn(Optional.of(1l));
+        given(abrigoRepository.findById(1l)).willReturn(Optional.of(abrigo));
 
         //act
         abrigoService.listarPetsDoAbrigo(nome);
 
         //assert
-        then(petRepository).should().findByAbrigo(abrigo);
+        then(petRepository).should().listarPorAbrigo(abrigo);
 
     }
 
@@ -80,7 +95,7 @@ class AbrigoServiceTest {
         abrigoService.listarPetsDoAbrigo(String.valueOf(id));
 
         //assert
-        then(petRepository).should().findByAbrigo(abrigo);
+        then(petRepository).should().listarPorAbrigo(abrigo);
 
     }
 
@@ -96,6 +111,7 @@ class AbrigoServiceTest {
 
         //ASSERT
         then(abrigoRepository).should().save(new Abrigo(dto));
+        then(versoesListagens).should().registrarAlteracao();
 
     }
 
@@ -132,14 +148,16 @@ class AbrigoServiceTest {
     void cenario04() {
 
         //ARRANGE
-        var valor = abrigo.getNome();
-        when(abrigoRepository.findByNome(valor)).thenReturn(Optional.of(abrigo));
+        var valor = "Miau";
+        when(abrigoRepository.buscarIdPorNome(valor)).thenReturn(Optional.of(1l));
+        when(abrigoRepository.findById(1l)).thenReturn(Optional.of(abrigo));
 
         //ACT
-        abrigoService.carregarAbrigo(valor);
+        var carregado = abrigoService.carregarAbrigo(valor);
 
         //ASSERT
-        then(abrigoRepository).should().findByNome(valor);
+        then(abrigoRepository).should().buscarIdPorNome(valor);
+        Assertions.assertSame(abrigo, carregado);
 
     }
 
@@ -148,12 +166,110 @@ class AbrigoServiceTest {
     void cenario05() {
 
         //ARRANGE
-        when(abrigoRepository.findByNome(any())).thenReturn(Optional.empty());
+        when(abrigoRepository.buscarIdPorNome("Inexistente")).thenReturn(Optional.empty());
 
         //ASSERT + ACT
-        Assertions.assertThrows(ValidacaoException.class, () -> abrigoService.carregarAbrigo(any()));
+        Assertions.assertThrows(ValidacaoException.class, () -> abrigoService.carregarAbrigo("Inexistente"));
+
+    }
+
+    @Test
+    @DisplayName("Deve guardar em cache apenas o id do abrigo buscado pelo nome e carregar a entidade pelo repositório a cada busca")
+    void cenario06() {
+
+        //ARRANGE
+        given(abrigoRepository.buscarIdPorNome("Miau")).willReturn(Optional.of(1l));
+        given(abrigoRepository.findById(1l)).willReturn(Optional.of(abrigo));
+
+        //ACT
+        abrigoService.carregarAbrigo("Miau");
+        var porNome = abrigoService.carregarAbrigo("Miau");
+
+        //ASSERT
+        Assertions.assertSame(abrigo, porNome);
+        then(abrigoRepository).should(times(1)).buscarIdPorNome("Miau");
+        then(abrigoRepository).should(times(2)).findById(1l);
+        Assertions.assertEquals(1, acessosAoCache("hit"));
+        Assertions.assertEquals(1, acessosAoCache("miss"));
+
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache ao cadastrar um abrigo")
+    void cenario07() {
+
+        //ARRANGE
+        given(abrigoRepository.buscarIdPorNome("Miau")).willReturn(Optional.of(1l));
+        given(abrigoRepository.findById(1l)).willReturn(Optional.of(abrigo));
+        abrigoService.carregarAbrigo("Miau");
+
+        //ACT
+        abrigoService.cadastrar(dto);
+        abrigoService.carregarAbrigo("Miau");
+
+        //ASSERT
+        then(abrigoRepository).should(times(2)).buscarIdPorNome("Miau");
+
+    }
+
+    @Test
+    @DisplayName("Deve pesquisar por nome quando o valor numérico excede o tamanho de um id")
+    void cenario08() {
+
+        //ARRANGE
+        var valor = "99999999999999999999";
+        when(abrigoRepository.buscarIdPorNome(valor)).thenReturn(Optional.of(1l));
+        when(abrigoRepository.findById(1l)).thenReturn(Optional.of(abrigo));
+
+        //ACT
+        abrigoService.carregarAbrigo(valor);
+
+        //ASSERT
+        then(abrigoRepository).should().buscarIdPorNome(valor);
 
     }
 
+    @Test
+    @DisplayName("Deve reaproveitar o id em cache quando o nome for informado com outra capitalização")
+    void cenario09() {
+
+        //ARRANGE
+        given(abrigoRepository.buscarIdPorNome("abrigo feliz")).willReturn(Optional.of(1l));
+        given(abrigoRepository.findById(1l)).willReturn(Optional.of(abrigo));
+
+        //ACT
+        abrigoService.carregarAbrigo("abrigo feliz");
+        var mesmaGrafia = abrigoService.carregarAbrigo("abrigo feliz");
+        var nomeCanonico = abrigoService.carregarAbrigo("Abrigo Feliz");
+
+        //ASSERT
+        Assertions.assertSame(abrigo, mesmaGrafia);
+        Assertions.assertSame(abrigo, nomeCanonico);
+        then(abrigoRepository).should(times(1)).buscarIdPorNome(any());
+        Assertions.assertEquals(2, acessosAoCache("hit"));
+
+    }
+
+    @Test
+    @DisplayName("Deve buscar pelo id diretamente no repositório, sem passar pelo cache de nomes")
+    void cenario10() {
+
+        //ARRANGE
+        given(abrigoRepository.findById(1l)).willReturn(Optional.of(abrigo));
+
+        //ACT
+        abrigoService.carregarAbrigo("1");
+        abrigoService.carregarAbrigo("1");
+
+        //ASSERT
+        then(abrigoRepository).should(times(2)).findById(1l);
+        then(abrigoRepository).should(never()).buscarIdPorNome(any());
+        Assertions.assertEquals(0, acessosAoCache("hit") + acessosAoCache("miss"));
+
+    }
+
+    private double acessosAoCache(String resultado) {
+        return meterRegistry.get("cache.gets").tag("cache", "abrigos-por-nome").tag("result", resultado).functionCounter().count();
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.dto.CadastroAbrigoDto;
+import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.CadastroTutorDto;
+import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import br.com.alura.adopet.api.model.*;
+import br.com.alura.adopet.api.repository.AbrigoRepository;
+import br.com.alura.adopet.api.repository.AdocaoRepository;
+import br.com.alura.adopet.api.repository.PetRepository;
+import br.com.alura.adopet.api.repository.TutorRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:adopet-concorrencia;MODE=MySQL;LOCK_TIMEOUT=10000",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "adopet.email.outbox.relay.habilitado=false"})
+class AdocaoServiceConcorrenciaTest {
+
+    private static final int SOLICITACOES = 16;
+
+    private static final AtomicInteger SEQUENCIA = new AtomicInteger();
+
+    @Autowired
+    private AdocaoService adocaoService;
+
+    @Autowired
+    private AdocaoRepository adocaoRepository;
+
+    @Autowired
+    private AbrigoRepository abrigoRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    private Abrigo abrigo;
+
+    @BeforeEach
+    void cadastrarAbrigo() {
+        int numero = SEQUENCIA.incrementAndGet();
+        abrigo = abrigoRepository.save(new Abrigo(new CadastroAbrigoDto("Abrigo " + numero, "8599999000" + numero, "abrigo" + numero + "@email.com")));
+    }
+
+    @Test
+    @DisplayName("Apenas uma entre várias solicitações simultâneas para o mesmo pet deve ser registrada")
+    void cenario01() throws Exception {
+
+        //ARRANGE
+        Pet pet = cadastrarPet();
+        List<SolicitacaoAdocaoDto> solicitacoes = new ArrayList<>();
+        for (int i = 0; i < SOLICITACOES; i++) {
+            solicitacoes.add(new SolicitacaoAdocaoDto(pet.getId(), cadastrarTutor().getId(), "motivo"));
+        }
+
+        //ACT
+        List<Throwable> resultados = solicitarSimultaneamente(solicitacoes);
+
+        //ASSERT
+        Assertions.assertThat(resultados).filteredOn(r -> r == null).hasSize(1);
+        Assertions.assertThat(resultados).filteredOn(r -> r != null).hasSize(SOLICITACOES - 1)
+                .allSatisfy(r -> Assertions.assertThat(r)
+                        .isInstanceOf(ValidacaoException.class)
+                        .hasMessage("Pet já está aguardando avaliação para ser adotado!"));
+        Assertions.assertThat(adocaoRepository.existsByPetIdAndStatus(pet.getId(), StatusAdocao.AGUARDANDO_AVALIACAO)).isTrue();
+
+    }
+
+    @Test
+    @DisplayName("Solicitações simultâneas para pets diferentes devem ser todas registradas")
+    void cenario02() throws Exception {
+
+        //ARRANGE
+        List<SolicitacaoAdocaoDto> solicitacoes = new ArrayList<>();
+        for (int i = 0; i < SOLICITACOES; i++) {
+            solicitacoes.add(new SolicitacaoAdocaoDto(cadastrarPet().getId(), cadastrarTutor().getId(), "motivo"));
+        }
+
+        //ACT
+        List<Throwable> resultados = solicitarSimultaneamente(solicitacoes);
+
+        //ASSERT
+        Assertions.assertThat(resultados).containsOnlyNulls();
+
+    }
+
+    private List<Throwable> solicitarSimultaneamente(List<SolicitacaoAdocaoDto> solicitacoes) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(solicitacoes.size());
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Throwable>> futuros = new ArrayList<>();
+            for (SolicitacaoAdocaoDto dto : solicitacoes) {
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        adocaoService.solicitar(dto);
+                        return null;
+                    } catch (RuntimeException exception) {
+                        return exception;
+                    }
+                }));
+            }
+            largada.countDown();
+
+            List<Throwable> resultados = new ArrayList<>();
+            for (Future<Throwable> futuro : futuros) {
+                resultados.add(futuro.get(30, TimeUnit.SECONDS));
+            }
+            return resultados;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Pet cadastrarPet() {
+        return petRepository.save(new Pet(new CadastroPetDto(TipoPet.GATO, "Miau", "Siames", 4, "Cinza", 4.0f), abrigo, ProbabilidadeAdocao.ALTA));
+    }
+
+    private Tutor cadastrarTutor() {
+        int numero = SEQUENCIA.incrementAndGet();
+        return tutorRepository.save(new Tutor(new CadastroTutorDto("Tutor " + numero, "8598888" + String.format("%04d", numero), "tutor" + numero + "@email.com")));
+    }
+
+}
@@ -3,11 +3,16 @@ package br.com.alura.adopet.api.service;
 import br.com.alura.adopet.api.dto.AprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.ReprovacaoAdocaoDto;
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.*;
 import br.com.alura.adopet.api.repository.AdocaoRepository;
+import br.com.alura.adopet.api.repository.EmailOutboxRepository;
 import br.com.alura.adopet.api.repository.PetRepository;
 import br.com.alura.adopet.api.repository.TutorRepository;
+import br.com.alura.adopet.api.validacoes.ElegibilidadeAdocao;
 import br.com.alura.adopet.api.validacoes.ValidacaoSolicitacaoAdocao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,10 +23,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,10 +41,19 @@ class AdocaoServiceTest {
     @Mock
     private TutorRepository tutorRepository;
     @Mock
-    private EmailService emailService;
+    private EmailOutboxRepository emailOutboxRepository;
     @Spy
     private List<ValidacaoSolicitacaoAdocao> validacoes = new ArrayList<>();
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private VersoesListagens versoesListagens;
+
+    @Mock
+    private IndicePetsDisponiveis indicePetsDisponiveis;
+
     @Mock
     private ValidacaoSolicitacaoAdocao validador1;
 
@@ -54,10 +70,14 @@ class AdocaoServiceTest {
     private Adocao adocao;
 
     private SolicitacaoAdocaoDto dto;
+
+    private ElegibilidadeAdocao elegibilidade = new ElegibilidadeAdocao(false, false, 0L, 0L, "Miau", "Abrigo feliz", "abrigofeliz@gmail.com");
     @InjectMocks
     AdocaoService adocaoService;
     @Captor
     private ArgumentCaptor<Adocao> adocaoCaptor;
+    @Captor
+    private ArgumentCaptor<EmailOutbox> emailCaptor;
 
     @Mock
     private AprovacaoAdocaoDto aprovacaoDTO;
@@ -73,9 +93,9 @@ class AdocaoServiceTest {
 
         //ARRANGE
         this.dto = new SolicitacaoAdocaoDto(1l, 1l, "motivo");
+        given(repository.carregarElegibilidade(dto.idPet(), dto.idTutor())).willReturn(Optional.of(elegibilidade));
         given(petRepository.getReferenceById(dto.idPet())).willReturn(pet);
         given(tutorRepository.getReferenceById(dto.idTutor())).willReturn(tutor);
-        given(pet.getAbrigo()).willReturn(abrigo);
 
         //ACT
         adocaoService.solicitar(dto);
@@ -88,6 +108,10 @@ class AdocaoServiceTest {
         Assertions.assertThat(adocaoSalva.getPet()).isEqualTo(pet);
         Assertions.assertThat(adocaoSalva.getTutor()).isEqualTo(tutor);
         Assertions.assertThat(adocaoSalva.getMotivo()).isEqualTo(dto.motivo());
+        then(emailOutboxRepository).should().save(emailCaptor.capture());
+        Assertions.assertThat(emailCaptor.getValue().getDestinatario()).isEqualTo("abrigofeliz@gmail.com");
+        Assertions.assertThat(emailCaptor.getValue().getMensagem()).contains("Olá Abrigo feliz!", "para o pet: Miau");
+        then(pet).shouldHaveNoInteractions();
 
     }
 
@@ -96,9 +120,9 @@ class AdocaoServiceTest {
 
         //ARRANGE
         this.dto = new SolicitacaoAdocaoDto(1l, 1l, "motivo");
+        given(repository.carregarElegibilidade(dto.idPet(), dto.idTutor())).willReturn(Optional.of(elegibilidade));
         given(petRepository.getReferenceById(dto.idPet())).willReturn(pet);
         given(tutorRepository.getReferenceById(dto.idTutor())).willReturn(tutor);
-        given(pet.getAbrigo()).willReturn(abrigo);
 
         validacoes.add(validador1);
         validacoes.add(validador2);
@@ -107,8 +131,45 @@ class AdocaoServiceTest {
         adocaoService.solicitar(dto);
 
         //ASSERT
-        BDDMockito.then(validador1).should().validar(dto);
-        BDDMockito.then(validador2).should().validar(dto);
+        BDDMockito.then(validador1).should().validar(dto, elegibilidade);
+        BDDMockito.then(validador2).should().validar(dto, elegibilidade);
+
+    }
+
+    @Test
+    void naoDeveriaSolicitarAdocaoDePetInexistente() {
+
+        //ARRANGE
+        this.dto = new SolicitacaoAdocaoDto(1l, 1l, "motivo");
+        given(repository.carregarElegibilidade(dto.idPet(), dto.idTutor())).willReturn(Optional.empty());
+
+        //ASSERT + ACT
+        Assertions.assertThatThrownBy(() -> adocaoService.solicitar(dto)).isInstanceOf(ValidacaoException.class);
+        then(repository).should().carregarElegibilidade(dto.idPet(), dto.idTutor());
+        then(repository).shouldHaveNoMoreInteractions();
+
+    }
+
+    @Test
+    @DisplayName("Deverá registrar o tempo de cada validador e a rejeição pelo motivo")
+    void deveriaRegistrarMetricasDasValidacoes() {
+
+        //ARRANGE
+        this.dto = new SolicitacaoAdocaoDto(1l, 1l, "motivo");
+        given(repository.carregarElegibilidade(dto.idPet(), dto.idTutor())).willReturn(Optional.of(elegibilidade));
+        willThrow(new ValidacaoException("Pet já foi adotado!")).given(validador2).validar(dto, elegibilidade);
+
+        validacoes.add(validador1);
+        validacoes.add(validador2);
+
+        //ACT
+        Assertions.assertThatThrownBy(() -> adocaoService.solicitar(dto)).isInstanceOf(ValidacaoException.class);
+
+        //ASSERT
+        Assertions.assertThat(meterRegistry.get("adopet.adocoes.validacoes").tag("resultado", "aprovada").timer().count()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("adopet.adocoes.validacoes").tag("resultado", "rejeitada").timer().count()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("adopet.adocoes.rejeicoes").tag("motivo", "Pet já foi adotado!").counter().count()).isEqualTo(1);
+        then(repository).should(Mockito.never()).save(any());
 
     }
 
@@ -117,7 +178,7 @@ class AdocaoServiceTest {
     void aprovarAdocao() {
 
         //ARRANGE
-        when(repository.getReferenceById(aprovacaoDTO.idAdocao())).thenReturn(adocao);
+        when(repository.carregarParaAvaliacao(aprovacaoDTO.idAdocao())).thenReturn(Optional.of(adocao));
         when(adocao.getPet()).thenReturn(pet);
         when(adocao.getPet().getAbrigo()).thenReturn(abrigo);
         when(adocao.getTutor()).thenReturn(tutor);
@@ -128,7 +189,10 @@ class AdocaoServiceTest {
 
         //ASSERT
         Assertions.assertThat(adocao.getStatus()).isEqualTo(StatusAdocao.APROVADO);
-        then(emailService).should().enviarEmail(any(), any(), any());
+        then(pet).should().marcarComoAdotado();
+        then(versoesListagens).should().registrarAlteracao(abrigo.getId());
+        then(indicePetsDisponiveis).should().remover(pet.getId());
+        then(emailOutboxRepository).should().save(any());
     }
 
     @Test
@@ -136,7 +200,7 @@ class AdocaoServiceTest {
     void reprovarAdocao() {
 
         //ARRANGE
-        when(repository.getReferenceById(reprovacaoDTO.idAdocao())).thenReturn(adocao);
+        when(repository.carregarParaAvaliacao(reprovacaoDTO.idAdocao())).thenReturn(Optional.of(adocao));
         when(adocao.getPet()).thenReturn(pet);
         when(adocao.getPet().getAbrigo()).thenReturn(abrigo);
         when(adocao.getTutor()).thenReturn(tutor);
@@ -148,7 +212,20 @@ class AdocaoServiceTest {
         //ASSERT
         Assertions.assertThat(adocao.getStatus()).isEqualTo(StatusAdocao.REPROVADO);
         Assertions.assertThat(adocao.getJustificativaStatus()).isEqualTo(reprovacaoDTO.justificativa());
-        then(emailService).should().enviarEmail(any(), any(), any());
+        then(pet).should(Mockito.never()).marcarComoAdotado();
+        then(emailOutboxRepository).should().save(any());
+    }
+
+    @Test
+    @DisplayName("Não deverá aprovar uma adoção inexistente")
+    void aprovarAdocaoInexistente() {
+
+        //ARRANGE
+        when(repository.carregarParaAvaliacao(aprovacaoDTO.idAdocao())).thenReturn(Optional.empty());
+
+        //ASSERT + ACT
+        Assertions.assertThatThrownBy(() -> adocaoService.aprovar(aprovacaoDTO)).isInstanceOf(ValidacaoException.class);
+        then(emailOutboxRepository).shouldHaveNoInteractions();
     }
 
-}
\ No newline at end of file
+}
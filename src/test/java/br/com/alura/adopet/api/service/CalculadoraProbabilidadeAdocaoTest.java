@@ -10,6 +10,10 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 class CalculadoraProbabilidadeAdocaoTest {
 
     @Test
@@ -20,7 +24,7 @@ class CalculadoraProbabilidadeAdocaoTest {
         //ARRANGE
         Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo feliz","85999999999", "abrigofeliz@gmail.com"));
 
-        Pet pet = new Pet(new CadastroPetDto(TipoPet.GATO,"Miau","Siames",4,"Cinza",4.0f), abrigo);
+        Pet pet = new Pet(new CadastroPetDto(TipoPet.GATO,"Miau","Siames",4,"Cinza",4.0f), abrigo, null);
 
         CalculadoraProbabilidadeAdocao calculadora = new CalculadoraProbabilidadeAdocao();
 
@@ -39,7 +43,7 @@ class CalculadoraProbabilidadeAdocaoTest {
         //ARRANGE
         Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo feliz","85999999999", "abrigofeliz@gmail.com"));
 
-        Pet pet = new Pet(new CadastroPetDto(TipoPet.GATO,"Miau","Siames",15,"Cinza",4.0f), abrigo);
+        Pet pet = new Pet(new CadastroPetDto(TipoPet.GATO,"Miau","Siames",15,"Cinza",4.0f), abrigo, null);
 
         CalculadoraProbabilidadeAdocao calculadora = new CalculadoraProbabilidadeAdocao();
 
@@ -50,4 +54,169 @@ class CalculadoraProbabilidadeAdocaoTest {
         Assertions.assertThat(probabilidade).isEqualByComparingTo(ProbabilidadeAdocao.MEDIA);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Deve devolver probabilidade BAIXA para cachorro idoso e pesado a partir dos atributos")
+    void probabilidadeBaixaCenario1() {
+        //idade 15 anos e 20kg - BAIXA
+
+        //ARRANGE
+        CalculadoraProbabilidadeAdocao calculadora = new CalculadoraProbabilidadeAdocao();
+
+        //ACT
+        var probabilidade = calculadora.calcular(TipoPet.CACHORRO, 15, 20.0f);
+
+        //ASSERT
+        Assertions.assertThat(probabilidade).isEqualByComparingTo(ProbabilidadeAdocao.BAIXA);
+    }
+
+    @Test
+    @DisplayName("Deve calcular em lote a mesma probabilidade do cálculo por pet para todas as combinações de tipo, idade e peso")
+    void calculoEmLoteEquivalenteAoCalculoPorPet() {
+
+        //ARRANGE
+        Abrigo abrigo = new Abrigo(new CadastroAbrigoDto("Abrigo feliz","85999999999", "abrigofeliz@gmail.com"));
+        CalculadoraProbabilidadeAdocao calculadora = new CalculadoraProbabilidadeAdocao();
+        List<Pet> pets = new ArrayList<>();
+        for (TipoPet tipo : TipoPet.values()) {
+            for (int idade = 0; idade <= 30; idade++) {
+                for (float peso = 0.5f; peso <= 40f; peso += 0.25f) {
+                    pets.add(new Pet(new CadastroPetDto(tipo, "Pet", "SRD", idade, "Caramelo", peso), abrigo, null));
+                }
+            }
+        }
+
+        byte[] tipos = new byte[pets.size()];
+        int[] idades = new int[pets.size()];
+        float[] pesos = new float[pets.size()];
+        for (int i = 0; i < pets.size(); i++) {
+            tipos[i] = (byte) pets.get(i).getTipo().ordinal();
+            idades[i] = pets.get(i).getIdade();
+            pesos[i] = pets.get(i).getPeso();
+        }
+        byte[] probabilidades = new byte[pets.size()];
+
+        //ACT
+        calculadora.calcular(tipos, idades, pesos, pets.size(), probabilidades);
+
+        //ASSERT
+        for (int i = 0; i < pets.size(); i++) {
+            Assertions.assertThat(ProbabilidadeAdocao.values()[probabilidades[i]])
+                    .as("pet %d", i)
+                    .isEqualTo(calculadora.calcular(pets.get(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve calcular em lote apenas a quantidade informada, preservando o restante dos arrays")
+    void calculoEmLoteRespeitaQuantidade() {
+
+        //ARRANGE
+        CalculadoraProbabilidadeAdocao calculadora = new CalculadoraProbabilidadeAdocao();
+        byte[] tipos = {(byte) TipoPet.CACHORRO.ordinal(), (byte) TipoPet.GATO.ordinal()};
+        int[] idades = {15, 15};
+        float[] pesos = {20f, 4f};
+        byte[] probabilidades = {-1, -1};
+
+        //ACT
+        calculadora.calcular(tipos, idades, pesos, 1, probabilidades);
+
+        //ASSERT
+        Assertions.assertThat(probabilidades).containsExactly((byte) ProbabilidadeAdocao.BAIXA.ordinal(), (byte) -1);
+    }
+
+    @Test
+    @DisplayName("Não deve calcular em lote quando a quantidade for maior que alguma das colunas")
+    void calculoEmLoteComColunasMenoresQueQuantidade() {
+
+        //ARRANGE
+        CalculadoraProbabilidadeAdocao calculadora = new CalculadoraProbabilidadeAdocao();
+
+        //ACT
+        var exception = Assertions.catchThrowable(() -> calculadora.calcular(new byte[2], new int[2], new float[1], 2, new byte[2]));
+
+        //ASSERT
+        Assertions.assertThat(exception).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve manter, com as regras padrão, o resultado das regras fixas usadas antes da configuração")
+    void regrasPadraoEquivalentesAsRegrasFixas() {
+
+        //ARRANGE
+        CalculadoraProbabilidadeAdocao calculadora = new CalculadoraProbabilidadeAdocao(RegrasProbabilidadeAdocao.padrao());
+
+        for (TipoPet tipo : TipoPet.values()) {
+            for (int idade = 0; idade <= 40; idade++) {
+                for (int peso = 0; peso <= 120; peso++) {
+
+                    //ACT
+                    var probabilidade = calculadora.calcular(tipo, idade, peso + 0.5f);
+
+                    //ASSERT
+                    Assertions.assertThat(probabilidade)
+                            .as("%s, %d anos, %d kg", tipo, idade, peso)
+                            .isEqualTo(calcularComRegrasFixas(tipo, idade, peso));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve usar os limites, penalidades e faixas das regras informadas")
+    void regrasConfiguradas() {
+
+        //ARRANGE
+        var regras = new RegrasProbabilidadeAdocao(10, 9, 6, Map.of(
+                TipoPet.CACHORRO, new RegrasProbabilidadeAdocao.RegrasTipo(30, 3, List.of()),
+                TipoPet.GATO, new RegrasProbabilidadeAdocao.RegrasTipo(8, 1, List.of(new RegrasProbabilidadeAdocao.PenalidadeIdade(12, 4)))));
+        CalculadoraProbabilidadeAdocao calculadora = new CalculadoraProbabilidadeAdocao(regras);
+
+        //ACT
+        var cachorroLeve = calculadora.calcular(TipoPet.CACHORRO, 20, 20f);
+        var cachorroPesado = calculadora.calcular(TipoPet.CACHORRO, 20, 31f);
+        var gatoAbaixoDoLimiteDeIdade = calculadora.calcular(TipoPet.GATO, 11, 9f);
+        var gatoNoLimiteDeIdade = calculadora.calcular(TipoPet.GATO, 12, 9f);
+
+        //ASSERT
+        Assertions.assertThat(cachorroLeve).isEqualTo(ProbabilidadeAdocao.ALTA);
+        Assertions.assertThat(cachorroPesado).isEqualTo(ProbabilidadeAdocao.MEDIA);
+        Assertions.assertThat(gatoAbaixoDoLimiteDeIdade).isEqualTo(ProbabilidadeAdocao.ALTA);
+        Assertions.assertThat(gatoNoLimiteDeIdade).isEqualTo(ProbabilidadeAdocao.BAIXA);
+    }
+
+    @Test
+    @DisplayName("Não deve aceitar regras sem todos os tipos de pet")
+    void regrasSemTodosOsTipos() {
+
+        //ACT
+        var exception = Assertions.catchThrowable(() -> new RegrasProbabilidadeAdocao(10, 8, 5,
+                Map.of(TipoPet.GATO, new RegrasProbabilidadeAdocao.RegrasTipo(10, 2, List.of()))));
+
+        //ASSERT
+        Assertions.assertThat(exception).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ProbabilidadeAdocao calcularComRegrasFixas(TipoPet tipo, int idade, int peso) {
+        int nota = 10;
+        if (tipo == TipoPet.CACHORRO && peso > 15) {
+            nota -= 2;
+        }
+        if (tipo == TipoPet.GATO && peso > 10) {
+            nota -= 2;
+        }
+        if (idade >= 15) {
+            nota -= 5;
+        } else if (idade >= 10) {
+            nota -= 4;
+        }
+
+        if (nota >= 8) {
+            return ProbabilidadeAdocao.ALTA;
+        }
+        if (nota >= 5) {
+            return ProbabilidadeAdocao.MEDIA;
+        }
+        return ProbabilidadeAdocao.BAIXA;
+    }
+
+}
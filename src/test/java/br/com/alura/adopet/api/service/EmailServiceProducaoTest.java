@@ -0,0 +1,94 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.dto.MensagemEmailDto;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceProducaoTest {
+
+    private static final List<MensagemEmailDto> LOTE = List.of(
+            new MensagemEmailDto("abrigo@email.com", "assunto", "mensagem"),
+            new MensagemEmailDto("inexistente@email.com", "assunto", "mensagem"),
+            new MensagemEmailDto("tutor@email.com", "assunto", "mensagem"));
+
+    @Mock
+    private JavaMailSender emailSender;
+
+    @InjectMocks
+    private EmailServiceProducao emailService;
+
+    @Captor
+    private ArgumentCaptor<SimpleMailMessage[]> mensagensCaptor;
+
+    @Test
+    @DisplayName("Deve enviar o lote inteiro em uma única chamada ao servidor de email")
+    void cenario01() {
+
+        //ACT
+        var falhas = emailService.enviarEmLote(LOTE);
+
+        //ASSERT
+        then(emailSender).should().send(mensagensCaptor.capture());
+        then(emailSender).shouldHaveNoMoreInteractions();
+        Assertions.assertThat(mensagensCaptor.getValue())
+                .extracting(mensagem -> mensagem.getTo()[0])
+                .containsExactly("abrigo@email.com", "inexistente@email.com", "tutor@email.com");
+        Assertions.assertThat(falhas).isEmpty();
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver pela posição no lote apenas os emails recusados pelo servidor")
+    void cenario02() {
+
+        //ARRANGE
+        var recusa = new RuntimeException("destinatário inexistente");
+        willAnswer(invocacao -> {
+            SimpleMailMessage recusada = invocacao.getArgument(1);
+            throw new MailSendException(Map.of(recusada, recusa));
+        }).given(emailSender).send(any(SimpleMailMessage[].class));
+
+        //ACT
+        var falhas = emailService.enviarEmLote(LOTE);
+
+        //ASSERT
+        Assertions.assertThat(falhas).containsOnlyKeys(1).containsEntry(1, recusa);
+
+    }
+
+    @Test
+    @DisplayName("Deve considerar todo o lote como falho quando a sessão com o servidor não puder ser aberta")
+    void cenario03() {
+
+        //ARRANGE
+        willThrow(new MailAuthenticationException("credenciais inválidas")).given(emailSender).send(any(SimpleMailMessage[].class));
+
+        //ACT
+        var falhas = emailService.enviarEmLote(LOTE);
+
+        //ASSERT
+        Assertions.assertThat(falhas).containsOnlyKeys(0, 1, 2);
+
+    }
+
+}
@@ -0,0 +1,210 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.dto.FacetasPetsDto;
+import br.com.alura.adopet.api.dto.FaixaIdade;
+import br.com.alura.adopet.api.dto.FaixaPeso;
+import br.com.alura.adopet.api.dto.FiltroFacetasPetDto;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.PetIndexadoDto;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.repository.PetRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class IndicePetsDisponiveisTest {
+
+    private static final String[] CORES = {"Preto", "Cinza", "Caramelo", "Branco", "Tigrado"};
+
+    private static final FiltroFacetasPetDto SEM_FILTRO = new FiltroFacetasPetDto(null, null, null, null, null);
+
+    @Mock
+    private PetRepository repository;
+
+    @Mock
+    private VersoesListagens versoesListagens;
+
+    private IndicePetsDisponiveis indice;
+
+    @BeforeEach
+    void construirIndice() {
+        given(repository.listarDisponiveisParaIndice(0L, PageRequest.ofSize(500))).willReturn(List.of(
+                pet(1L, TipoPet.GATO, 1, "Cinza", 3.0f, 10L),
+                pet(2L, TipoPet.GATO, 4, "Preto", 4.5f, 10L),
+                pet(3L, TipoPet.CACHORRO, 3, "Preto", 12.0f, 20L),
+                pet(4L, TipoPet.CACHORRO, 10, "Caramelo", 25.0f, 20L)));
+        indice = new IndicePetsDisponiveis(repository, versoesListagens, true);
+        indice.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("Deve filtrar pela interseção das facetas e contar cada faceta sem o seu próprio filtro")
+    void cenario01() {
+
+        //ACT
+        FacetasPetsDto facetas = indice.buscar(new FiltroFacetasPetDto(null, FaixaIdade.JOVEM, null, "Preto", null), 0L, 10);
+
+        //ASSERT
+        Assertions.assertThat(facetas.total()).isEqualTo(2);
+        Assertions.assertThat(facetas.pets()).extracting(PetDto::id).containsExactly(2L, 3L);
+        Assertions.assertThat(facetas.tipos()).isEqualTo(Map.of(TipoPet.GATO, 1, TipoPet.CACHORRO, 1));
+        Assertions.assertThat(facetas.faixasIdade()).isEqualTo(Map.of(FaixaIdade.JOVEM, 2));
+        Assertions.assertThat(facetas.faixasPeso()).isEqualTo(Map.of(FaixaPeso.ATE_5_KG, 1, FaixaPeso.DE_5_A_15_KG, 1));
+        Assertions.assertThat(facetas.cores()).isEqualTo(Map.of("Preto", 2));
+        Assertions.assertThat(facetas.abrigos()).isEqualTo(Map.of(10L, 1, 20L, 1));
+
+    }
+
+    @Test
+    @DisplayName("Deve paginar os pets encontrados a partir do último id informado")
+    void cenario02() {
+
+        //ACT
+        FacetasPetsDto primeira = indice.buscar(SEM_FILTRO, 0L, 3);
+        FacetasPetsDto segunda = indice.buscar(SEM_FILTRO, primeira.proximo(), 3);
+
+        //ASSERT
+        Assertions.assertThat(primeira.pets()).extracting(PetDto::id).containsExactly(1L, 2L, 3L);
+        Assertions.assertThat(primeira.proximo()).isEqualTo(3L);
+        Assertions.assertThat(segunda.pets()).extracting(PetDto::id).containsExactly(4L);
+        Assertions.assertThat(segunda.proximo()).isNull();
+
+    }
+
+    @Test
+    @DisplayName("Deve incluir os pets cadastrados e retirar os adotados sem consultar o banco novamente")
+    void cenario03() {
+
+        //ACT
+        indice.indexar(pet(5L, TipoPet.GATO, 2, "Branco", 3.5f, 10L));
+        indice.remover(1L);
+        FacetasPetsDto facetas = indice.buscar(new FiltroFacetasPetDto(TipoPet.GATO, null, null, null, null), 0L, 10);
+
+        //ASSERT
+        Assertions.assertThat(facetas.pets()).extracting(PetDto::id).containsExactly(2L, 5L);
+        Assertions.assertThat(facetas.cores()).doesNotContainKey("Cinza").containsEntry("Branco", 1);
+        then(repository).shouldHaveNoMoreInteractions();
+
+    }
+
+    @Test
+    @DisplayName("Não deve carregar nem alterar o índice quando estiver desabilitado")
+    void cenario04() {
+
+        //ARRANGE
+        var desabilitado = new IndicePetsDisponiveis(repository, versoesListagens, false);
+
+        //ACT
+        desabilitado.afterSingletonsInstantiated();
+        desabilitado.indexar(pet(5L, TipoPet.GATO, 2, "Branco", 3.5f, 10L));
+
+        //ASSERT
+        Assertions.assertThat(desabilitado.isHabilitado()).isFalse();
+        Assertions.assertThat(desabilitado.buscar(SEM_FILTRO, 0L, 10).total()).isZero();
+
+    }
+
+    @Test
+    @DisplayName("Deve mudar a ETag das facetas somente quando o índice for alterado")
+    void cenario05() {
+
+        //ARRANGE
+        String antes = indice.etag();
+
+        //ACT
+        indice.buscar(SEM_FILTRO, 0L, 10);
+        String aposBusca = indice.etag();
+        indice.indexar(List.of(pet(5L, TipoPet.GATO, 2, "Branco", 3.5f, 10L), pet(6L, TipoPet.GATO, 3, "Cinza", 4.0f, 10L)));
+
+        //ASSERT
+        Assertions.assertThat(aposBusca).isEqualTo(antes);
+        Assertions.assertThat(indice.etag()).isNotEqualTo(antes);
+        Assertions.assertThat(indice.buscar(SEM_FILTRO, 0L, 10).total()).isEqualTo(6);
+
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o índice quando outra instância alterar a versão global das listagens")
+    void cenario06() {
+
+        //ARRANGE
+        indice.sincronizar();
+        given(versoesListagens.versaoGlobal()).willReturn(1L);
+        given(repository.listarDisponiveisParaIndice(0L, PageRequest.ofSize(500))).willReturn(List.of(
+                pet(2L, TipoPet.GATO, 4, "Preto", 4.5f, 10L),
+                pet(7L, TipoPet.CACHORRO, 5, "Preto", 30.0f, 30L)));
+
+        //ACT
+        indice.sincronizar();
+        indice.sincronizar();
+
+        //ASSERT
+        FacetasPetsDto facetas = indice.buscar(new FiltroFacetasPetDto(null, null, null, "Preto", null), 0L, 10);
+        Assertions.assertThat(facetas.pets()).extracting(PetDto::id).containsExactly(2L, 7L);
+        Assertions.assertThat(facetas.abrigos()).isEqualTo(Map.of(10L, 1, 30L, 1));
+        Assertions.assertThat(facetas.cores()).isEqualTo(Map.of("Preto", 2));
+        then(repository).should(times(2)).listarDisponiveisParaIndice(0L, PageRequest.ofSize(500));
+
+    }
+
+    @Test
+    @DisplayName("Deve devolver as mesmas contagens de facetas em buscas concorrentes que em buscas sequenciais")
+    void cenario07() throws Exception {
+
+        //ARRANGE
+        List<PetIndexadoDto> pets = new ArrayList<>();
+        for (long id = 5; id < 2000; id++) {
+            pets.add(pet(id, id % 2 == 0 ? TipoPet.GATO : TipoPet.CACHORRO, (int) (id % 15), CORES[(int) (id % CORES.length)], 2f + id % 30, 10L + id % 7));
+        }
+        indice.indexar(pets);
+        List<FiltroFacetasPetDto> filtros = List.of(
+                SEM_FILTRO,
+                new FiltroFacetasPetDto(TipoPet.GATO, null, null, null, null),
+                new FiltroFacetasPetDto(null, FaixaIdade.JOVEM, null, "Preto", null),
+                new FiltroFacetasPetDto(TipoPet.CACHORRO, null, FaixaPeso.DE_5_A_15_KG, null, 12L),
+                new FiltroFacetasPetDto(null, null, null, "Cinza", null));
+        List<FacetasPetsDto> esperadas = filtros.stream().map(filtro -> indice.buscar(filtro, 0L, 5)).toList();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //ACT
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < 400; i++) {
+                int posicao = i % filtros.size();
+                resultados.add(executor.submit(() -> indice.buscar(filtros.get(posicao), 0L, 5).equals(esperadas.get(posicao))));
+            }
+
+            //ASSERT
+            for (Future<Boolean> resultado : resultados) {
+                Assertions.assertThat(resultado.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    private PetIndexadoDto pet(Long id, TipoPet tipo, int idade, String cor, float peso, Long idAbrigo) {
+        return new PetIndexadoDto(id, tipo, "Pet " + id, "Raça", idade, ProbabilidadeAdocao.MEDIA, cor, peso, idAbrigo);
+    }
+
+}
@@ -1,9 +1,24 @@
 package br.com.alura.adopet.api.service;
 
 import br.com.alura.adopet.api.dto.CadastroPetDto;
+import br.com.alura.adopet.api.dto.CursorBuscaPetDto;
+import br.com.alura.adopet.api.dto.FiltroBuscaPetDto;
+import br.com.alura.adopet.api.dto.OrdenacaoBuscaPet;
+import br.com.alura.adopet.api.dto.PetDto;
+import br.com.alura.adopet.api.dto.PetIndexadoDto;
+import br.com.alura.adopet.api.dto.ResultadoCadastroPetDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
 import br.com.alura.adopet.api.model.Abrigo;
 import br.com.alura.adopet.api.model.Pet;
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import br.com.alura.adopet.api.repository.PetBuscaRepository;
+import br.com.alura.adopet.api.repository.PetJdbcRepository;
 import br.com.alura.adopet.api.repository.PetRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,8 +27,20 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +49,24 @@ class PetServiceTest {
     @Mock
     private PetRepository repository;
 
+    @Mock
+    private PetJdbcRepository jdbcRepository;
+
+    @Mock
+    private PetBuscaRepository buscaRepository;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private VersoesListagens versoesListagens;
+
+    @Mock
+    private IndicePetsDisponiveis indice;
+
+    @Spy
+    private RegrasProbabilidadeAdocaoEmVigor regrasProbabilidade = new RegrasProbabilidadeAdocaoEmVigor();
+
     @Mock
     private Abrigo abrigo;
 
@@ -41,6 +86,9 @@ class PetServiceTest {
     @DisplayName("Deve salvar um pet referente ao abrigo informado")
     void cenario01() {
 
+        //ARRANGE
+        given(dto.tipo()).willReturn(TipoPet.GATO);
+
         //ACT
         petService.cadastrarPet(abrigo,dto);
 
@@ -50,17 +98,195 @@ class PetServiceTest {
         var petSalvo = petCaptor.getValue();
 
         Assertions.assertThat(petSalvo.getAbrigo()).isEqualTo(abrigo);
+        then(versoesListagens).should().registrarAlteracao(abrigo.getId());
+        then(indice).should().indexar(new PetIndexadoDto(petSalvo));
+
+    }
+
+    @Test
+    @DisplayName("Deve salvar o pet com a probabilidade de adoção já calculada")
+    void cenario05() {
+
+        //ACT
+        petService.cadastrarPet(abrigo, new CadastroPetDto(TipoPet.CACHORRO, "Rex", "Vira-lata", 12, "Preto", 8.0f));
+
+        //ASSERT
+        then(repository).should().save(petCaptor.capture());
+        Assertions.assertThat(petCaptor.getValue().getProbabilidadeAdocao()).isEqualTo(ProbabilidadeAdocao.MEDIA);
 
     }
 
     @Test
-    @DisplayName("Deve chamar o método findAllByAdotadoFalse do repositorio")
+    @DisplayName("Deve calcular a probabilidade do pet cadastrado com as regras em vigor")
+    void cenario10() {
+
+        //ARRANGE
+        regrasProbabilidade.atualizar(new RegrasProbabilidadeAdocao(10, 8, 5, Map.of(
+                TipoPet.CACHORRO, new RegrasProbabilidadeAdocao.RegrasTipo(5, 6, List.of()),
+                TipoPet.GATO, new RegrasProbabilidadeAdocao.RegrasTipo(10, 2, List.of()))));
+
+        //ACT
+        petService.cadastrarPet(abrigo, new CadastroPetDto(TipoPet.CACHORRO, "Rex", "Vira-lata", 2, "Preto", 8.0f));
+
+        //ASSERT
+        then(repository).should().save(petCaptor.capture());
+        Assertions.assertThat(petCaptor.getValue().getProbabilidadeAdocao()).isEqualTo(ProbabilidadeAdocao.BAIXA);
+
+    }
+
+    @Test
+    @DisplayName("Deve reclassificar os pets disponíveis com as regras em vigor e invalidar as listagens dos abrigos alterados")
+    void cenario11() {
+
+        //ARRANGE
+        var calculadora = regrasProbabilidade.calculadora();
+        given(jdbcRepository.reclassificarProbabilidades(calculadora, 1000)).willReturn(Set.of(3L, 5L));
+
+        //ACT
+        petService.reclassificarProbabilidadesDeAdocao();
+
+        //ASSERT
+        then(versoesListagens).should().registrarAlteracao(3L);
+        then(versoesListagens).should().registrarAlteracao(5L);
+        then(versoesListagens).shouldHaveNoMoreInteractions();
+
+    }
+
+    @Test
+    @DisplayName("Deve buscar os pets disponíveis a partir do último id informado")
     void cenario02() {
         //act
-        petService.buscarPetsDisponiveis();
+        petService.buscarPetsDisponiveis(10L, 20);
+
+        //assert
+        then(repository).should().listarDisponiveis(10L, PageRequest.ofSize(20));
+    }
+
+    @Test
+    @DisplayName("Deve percorrer os pets disponíveis até o último lote")
+    void cenario03() {
+        //arrange
+        var disponivel = new PetDto(7L, TipoPet.GATO, "Miau", "Siames", 4, ProbabilidadeAdocao.ALTA);
+        given(repository.listarDisponiveis(0L, PageRequest.ofSize(500))).willReturn(List.of(disponivel));
+        List<PetDto> percorridos = new ArrayList<>();
+
+        //act
+        petService.percorrerPetsDisponiveis(percorridos::add);
+
+        //assert
+        Assertions.assertThat(percorridos).extracting(PetDto::id).containsExactly(7L);
+        then(repository).should().listarDisponiveis(0L, PageRequest.ofSize(500));
+        then(repository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar em lotes os pets válidos e informar o resultado de cada item")
+    void cenario04() {
+        //arrange
+        ReflectionTestUtils.setField(petService, "tamanhoLote", 1);
+        var miau = new CadastroPetDto(TipoPet.GATO, "Miau", "Siames", 4, "Cinza", 4.0f);
+        var semNome = new CadastroPetDto(TipoPet.GATO, "", "Siames", 4, "Cinza", 4.0f);
+        var rex = new CadastroPetDto(TipoPet.CACHORRO, "Rex", "Vira-lata", 2, "Preto", 12.0f);
+
+        var miauIndexado = new PetIndexadoDto(1L, TipoPet.GATO, "Miau", "Siames", 4, ProbabilidadeAdocao.ALTA, "Cinza", 4.0f, 1L);
+        var rexIndexado = new PetIndexadoDto(2L, TipoPet.CACHORRO, "Rex", "Vira-lata", 2, ProbabilidadeAdocao.ALTA, "Preto", 12.0f, 1L);
+        var calculadora = regrasProbabilidade.calculadora();
+        given(jdbcRepository.inserirEmLote(abrigo, List.of(miau), calculadora)).willReturn(List.of(miauIndexado));
+        given(jdbcRepository.inserirEmLote(abrigo, List.of(rex), calculadora)).willReturn(List.of(rexIndexado));
+
+        //act
+        var resultados = petService.cadastrarPetsEmLote(abrigo, Arrays.asList(miau, semNome, null, rex).iterator());
+
+        //assert
+        then(jdbcRepository).should().inserirEmLote(abrigo, List.of(miau), calculadora);
+        then(jdbcRepository).should().inserirEmLote(abrigo, List.of(rex), calculadora);
+        Assertions.assertThat(resultados)
+                .extracting(ResultadoCadastroPetDto::indice, ResultadoCadastroPetDto::cadastrado)
+                .containsExactly(
+                        tuple(0, true),
+                        tuple(1, false),
+                        tuple(2, false),
+                        tuple(3, true));
+        Assertions.assertThat(resultados.get(1).erros()).singleElement().asString().startsWith("nome");
+        then(indice).should().indexar(List.of(miauIndexado));
+        then(indice).should().indexar(List.of(rexIndexado));
+    }
+
+    @Test
+    @DisplayName("Deve registrar como falha o item NDJSON que não pôde ser lido e manter os pets já cadastrados")
+    void cenario09() throws IOException {
+        //arrange
+        ReflectionTestUtils.setField(petService, "tamanhoLote", 1);
+        var ndjson = """
+                {"tipo":"GATO","nome":"Miau","raca":"Siames","idade":4,"cor":"Cinza","peso":4.0}
+                {"tipo":"PASSARO","nome":"Piu","raca":"Canario","idade":1,"cor":"Amarelo","peso":0.1}
+                {"tipo":"CACHORRO","nome":"Rex","raca":"Vira-lata","idade":2,"cor":"Preto","peso":12.0}
+                {"tipo":"GATO" "nome":"Mingau"}
+                {"tipo":"GATO","nome":"Bidu","raca":"Siames","idade":3,"cor":"Cinza","peso":4.0}
+                """;
+        MappingIterator<CadastroPetDto> pets = new ObjectMapper().readerFor(CadastroPetDto.class).readValues(ndjson);
+        var calculadora = regrasProbabilidade.calculadora();
+
+        //act
+        var resultados = petService.cadastrarPetsEmLote(abrigo, pets);
+
+        //assert
+        then(jdbcRepository).should().inserirEmLote(abrigo, List.of(new CadastroPetDto(TipoPet.GATO, "Miau", "Siames", 4, "Cinza", 4.0f)), calculadora);
+        then(jdbcRepository).should().inserirEmLote(abrigo, List.of(new CadastroPetDto(TipoPet.CACHORRO, "Rex", "Vira-lata", 2, "Preto", 12.0f)), calculadora);
+        then(jdbcRepository).shouldHaveNoMoreInteractions();
+        Assertions.assertThat(resultados)
+                .extracting(ResultadoCadastroPetDto::indice, ResultadoCadastroPetDto::cadastrado)
+                .containsExactly(
+                        tuple(0, true),
+                        tuple(1, false),
+                        tuple(2, true),
+                        tuple(3, false));
+        Assertions.assertThat(resultados.get(1).erros()).singleElement().asString().contains("PASSARO");
+    }
+
+    @Test
+    @DisplayName("Deve devolver o cursor da próxima página da busca com a idade e o id do último pet")
+    void cenario06() {
+        //arrange
+        var filtro = new FiltroBuscaPetDto(TipoPet.GATO, 1, 5, null, null, null, null, null);
+        var miau = new PetDto(7L, TipoPet.GATO, "Miau", "Siames", 4, ProbabilidadeAdocao.ALTA);
+        given(buscaRepository.buscar(filtro, OrdenacaoBuscaPet.IDADE, new CursorBuscaPetDto(3, 2L), 1)).willReturn(List.of(miau));
+
+        //act
+        var pagina = petService.buscarPets(filtro, OrdenacaoBuscaPet.IDADE, "3:2", 1);
+
+        //assert
+        Assertions.assertThat(pagina.pets()).containsExactly(miau);
+        Assertions.assertThat(pagina.proximo()).isEqualTo("4:7");
+    }
+
+    @Test
+    @DisplayName("Não deve devolver cursor quando a busca trouxer menos pets que o limite")
+    void cenario07() {
+        //arrange
+        var filtro = new FiltroBuscaPetDto(null, null, null, null, null, null, null, "miau");
+        given(buscaRepository.buscar(filtro, OrdenacaoBuscaPet.ID, CursorBuscaPetDto.inicio(), 10)).willReturn(List.of());
+
+        //act
+        var pagina = petService.buscarPets(filtro, OrdenacaoBuscaPet.ID, null, 10);
+
+        //assert
+        Assertions.assertThat(pagina.pets()).isEmpty();
+        Assertions.assertThat(pagina.proximo()).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve buscar pets quando o cursor informado for inválido")
+    void cenario08() {
+        //arrange
+        var filtro = new FiltroBuscaPetDto(null, null, null, null, null, null, null, null);
+
+        //act
+        var exception = Assertions.catchThrowable(() -> petService.buscarPets(filtro, OrdenacaoBuscaPet.IDADE, "abc", 10));
 
         //assert
-        then(repository).should().findAllByAdotadoFalse();
+        Assertions.assertThat(exception).isInstanceOf(ValidacaoException.class).hasMessage("Cursor de busca inválido");
+        then(buscaRepository).shouldHaveNoInteractions();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.model.ProbabilidadeAdocao;
+import br.com.alura.adopet.api.model.TipoPet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class RecarregadorRegrasProbabilidadeAdocaoTest {
+
+    private static final String REGRAS_CACHORRO_PESADO = """
+            {
+              "notaInicial": 10, "notaMinimaAlta": 8, "notaMinimaMedia": 5,
+              "tipos": {
+                "CACHORRO": {"pesoAcimaDe": 15, "penalidadePeso": %d, "idades": [{"aPartirDe": 10, "penalidade": 4}]},
+                "GATO": {"pesoAcimaDe": 10, "penalidadePeso": 2, "idades": [{"aPartirDe": 10, "penalidade": 4}]}
+              }
+            }
+            """;
+
+    @TempDir
+    private Path diretorio;
+
+    @Mock
+    private PetService petService;
+
+    private final RegrasProbabilidadeAdocaoEmVigor regrasEmVigor = new RegrasProbabilidadeAdocaoEmVigor();
+
+    @Test
+    @DisplayName("Deve aplicar as regras do arquivo e recarregá-las quando o arquivo for alterado")
+    void cenario01() throws IOException {
+
+        //ARRANGE
+        Path arquivo = escrever(diretorio.resolve("regras.json"), REGRAS_CACHORRO_PESADO.formatted(3), Instant.parse("2026-01-01T00:00:00Z"));
+        var recarregador = recarregador(arquivo);
+
+        //ACT
+        recarregador.recarregarSeAlterado();
+        var antesDaAlteracao = regrasEmVigor.calculadora().calcular(TipoPet.CACHORRO, 2, 20f);
+        escrever(arquivo, REGRAS_CACHORRO_PESADO.formatted(6), Instant.parse("2026-01-01T00:01:00Z"));
+        recarregador.recarregarSeAlterado();
+        var depoisDaAlteracao = regrasEmVigor.calculadora().calcular(TipoPet.CACHORRO, 2, 20f);
+
+        //ASSERT
+        Assertions.assertThat(antesDaAlteracao).isEqualTo(ProbabilidadeAdocao.MEDIA);
+        Assertions.assertThat(depoisDaAlteracao).isEqualTo(ProbabilidadeAdocao.BAIXA);
+        then(petService).should(times(2)).reclassificarProbabilidadesDeAdocao();
+
+    }
+
+    @Test
+    @DisplayName("Deve manter as regras em vigor e não reclassificar os pets quando o arquivo alterado for inválido")
+    void cenario02() throws IOException {
+
+        //ARRANGE
+        Path arquivo = escrever(diretorio.resolve("regras.json"), REGRAS_CACHORRO_PESADO.formatted(6), Instant.parse("2026-01-01T00:00:00Z"));
+        var recarregador = recarregador(arquivo);
+        recarregador.recarregarSeAlterado();
+
+        //ACT
+        escrever(arquivo, "{\"notaInicial\": 10, \"tipos\": {}}", Instant.parse("2026-01-01T00:01:00Z"));
+        recarregador.recarregarSeAlterado();
+
+        //ASSERT
+        Assertions.assertThat(regrasEmVigor.calculadora().calcular(TipoPet.CACHORRO, 2, 20f)).isEqualTo(ProbabilidadeAdocao.BAIXA);
+        then(petService).should(times(1)).reclassificarProbabilidadesDeAdocao();
+
+    }
+
+    @Test
+    @DisplayName("Deve carregar as regras na inicialização e deixar a reclassificação para a primeira verificação agendada")
+    void cenario03() throws IOException {
+
+        //ARRANGE
+        Path arquivo = escrever(diretorio.resolve("regras.json"), REGRAS_CACHORRO_PESADO.formatted(6), Instant.parse("2026-01-01T00:00:00Z"));
+        var recarregador = recarregador(arquivo);
+
+        //ACT
+        recarregador.carregar();
+        var aposInicializacao = regrasEmVigor.calculadora().calcular(TipoPet.CACHORRO, 2, 20f);
+        then(petService).should(never()).reclassificarProbabilidadesDeAdocao();
+        recarregador.recarregarSeAlterado();
+
+        //ASSERT
+        Assertions.assertThat(aposInicializacao).isEqualTo(ProbabilidadeAdocao.BAIXA);
+        then(petService).should(times(1)).reclassificarProbabilidadesDeAdocao();
+
+    }
+
+    @Test
+    @DisplayName("Deve tentar reclassificar novamente na próxima verificação quando a reclassificação falhar")
+    void cenario04() throws IOException {
+
+        //ARRANGE
+        Path arquivo = escrever(diretorio.resolve("regras.json"), REGRAS_CACHORRO_PESADO.formatted(6), Instant.parse("2026-01-01T00:00:00Z"));
+        var recarregador = recarregador(arquivo);
+        willThrow(new QueryTimeoutException("timeout")).willDoNothing().given(petService).reclassificarProbabilidadesDeAdocao();
+
+        //ACT
+        recarregador.recarregarSeAlterado();
+        recarregador.recarregarSeAlterado();
+        recarregador.recarregarSeAlterado();
+
+        //ASSERT
+        then(petService).should(times(2)).reclassificarProbabilidadesDeAdocao();
+
+    }
+
+    private RecarregadorRegrasProbabilidadeAdocao recarregador(Path arquivo) {
+        return new RecarregadorRegrasProbabilidadeAdocao(new ObjectMapper(), regrasEmVigor, petService, arquivo.toString());
+    }
+
+    private Path escrever(Path arquivo, String conteudo, Instant modificacao) throws IOException {
+        Files.writeString(arquivo, conteudo);
+        return Files.setLastModifiedTime(arquivo, FileTime.from(modificacao));
+    }
+
+}
@@ -0,0 +1,152 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.dto.MensagemEmailDto;
+import br.com.alura.adopet.api.model.EmailOutbox;
+import br.com.alura.adopet.api.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class RelayEmailOutboxTest {
+
+    @Mock
+    private EmailOutboxRepository repository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private RelayEmailOutbox relay;
+
+    @Captor
+    private ArgumentCaptor<LocalDateTime> dataCaptor;
+
+    @BeforeEach
+    void configurar() {
+        ReflectionTestUtils.setField(relay, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(relay, "tamanhoLote", 10);
+        ReflectionTestUtils.setField(relay, "reserva", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(relay, "maximoTentativas", 3);
+        ReflectionTestUtils.setField(relay, "esperaInicial", Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Deve reservar os emails vencidos em uma transação, enviá-los fora dela e marcá-los como enviados")
+    void cenario01() {
+
+        //ARRANGE
+        var email = email(1L, "abrigo@email.com", 0);
+        given(repository.reservarPendentes(any(), eq(10))).willReturn(List.of(email));
+        var ordem = Mockito.inOrder(transactionManager, emailService, repository);
+
+        //ACT
+        relay.enviarPendentes();
+
+        //ASSERT
+        ordem.verify(transactionManager).commit(any());
+        ordem.verify(emailService).enviarEmLote(List.of(new MensagemEmailDto("abrigo@email.com", "assunto", "mensagem")));
+        ordem.verify(repository).marcarComoEnviados(eq(List.of(1L)), any());
+        Assertions.assertThat(email.getTentativas()).isEqualTo(1);
+        Assertions.assertThat(email.getProximaTentativa()).isAfter(LocalDateTime.now().plusMinutes(4));
+
+    }
+
+    @Test
+    @DisplayName("Deve reagendar com espera exponencial o email do lote cujo envio falhou e marcar os demais como enviados")
+    void cenario02() {
+
+        //ARRANGE
+        var comFalha = email(1L, "falha@email.com", 1);
+        var enviado = email(2L, "abrigo@email.com", 0);
+        given(repository.reservarPendentes(any(), eq(10))).willReturn(List.of(comFalha, enviado));
+        given(emailService.enviarEmLote(any())).willReturn(Map.of(0, new RuntimeException("smtp indisponível")));
+
+        //ACT
+        relay.enviarPendentes();
+
+        //ASSERT
+        then(repository).should().reagendar(eq(1L), dataCaptor.capture());
+        Assertions.assertThat(dataCaptor.getValue()).isBetween(LocalDateTime.now().plusSeconds(55), LocalDateTime.now().plusSeconds(61));
+        then(repository).should().marcarComoEnviados(eq(List.of(2L)), any());
+        Assertions.assertThat(meterRegistry.get("adopet.email.envios").tag("resultado", "falha").timer().count()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("adopet.email.envios").tag("resultado", "sucesso").timer().count()).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("Deve deixar de tentar o email que falhou no máximo de tentativas")
+    void cenario03() {
+
+        //ARRANGE
+        var comFalha = email(1L, "falha@email.com", 2);
+        given(repository.reservarPendentes(any(), eq(10))).willReturn(List.of(comFalha));
+        given(emailService.enviarEmLote(any())).willReturn(Map.of(0, new RuntimeException("destinatário inexistente")));
+
+        //ACT
+        relay.enviarPendentes();
+
+        //ASSERT
+        then(repository).should().reagendar(eq(1L), isNull());
+        then(repository).should(never()).marcarComoEnviados(any(), any());
+        Assertions.assertThat(meterRegistry.get("adopet.email.abandonados").counter().count()).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("Não deve abrir envio nem atualizar a outbox quando não houver emails vencidos")
+    void cenario04() {
+
+        //ARRANGE
+        given(repository.reservarPendentes(any(), anyInt())).willReturn(List.of());
+
+        //ACT
+        relay.enviarPendentes();
+
+        //ASSERT
+        then(emailService).shouldHaveNoInteractions();
+        then(repository).should(never()).marcarComoEnviados(any(), any());
+
+    }
+
+    private EmailOutbox email(Long id, String destinatario, int tentativasAnteriores) {
+        var email = new EmailOutbox(destinatario, "assunto", "mensagem");
+        ReflectionTestUtils.setField(email, "id", id);
+        ReflectionTestUtils.setField(email, "tentativas", tentativasAnteriores);
+        return email;
+    }
+
+}
@@ -0,0 +1,112 @@
+package br.com.alura.adopet.api.service;
+
+import br.com.alura.adopet.api.repository.VersaoListagemJdbcRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class VersoesListagensTest {
+
+    @Mock
+    private VersaoListagemJdbcRepository repository;
+
+    @InjectMocks
+    private VersoesListagens versoes;
+
+    @AfterEach
+    void limparSincronizacao() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Alteração em um abrigo deve incrementar apenas a versão do abrigo, sem tocar em uma linha compartilhada")
+    void cenario01() {
+
+        //ARRANGE
+        given(repository.buscar("abrigo-1")).willReturn(1L);
+
+        //ACT
+        versoes.registrarAlteracao(1l);
+
+        //ASSERT
+        then(repository).should().incrementar("abrigo-1");
+        then(repository).should().buscar("abrigo-1");
+        then(repository).shouldHaveNoMoreInteractions();
+        Assertions.assertThat(versoes.etagAbrigo(1l)).isEqualTo("\"abrigo-1-1\"");
+        Assertions.assertThat(versoes.etagGlobal()).isEqualTo("\"global-1\"");
+
+    }
+
+    @Test
+    @DisplayName("A versão global deve ser a soma das versões carregadas e as ETags não devem consultar o banco")
+    void cenario02() {
+
+        //ARRANGE
+        given(repository.buscarTodas()).willReturn(Map.of("global", 2L, "abrigo-2", 3L, "abrigo-5", 4L));
+        versoes.atualizar();
+
+        //ACT
+        String global = versoes.etagGlobal();
+        String abrigo = versoes.etagAbrigo(2l);
+        String abrigoSemAlteracoes = versoes.etagAbrigo(9l);
+
+        //ASSERT
+        Assertions.assertThat(global).isEqualTo("\"global-9\"");
+        Assertions.assertThat(abrigo).isEqualTo("\"abrigo-2-3\"");
+        Assertions.assertThat(abrigoSemAlteracoes).isEqualTo("\"abrigo-9-0\"");
+        then(repository).should().buscarTodas();
+        then(repository).shouldHaveNoMoreInteractions();
+
+    }
+
+    @Test
+    @DisplayName("Dentro de uma transação a versão só deve ser incrementada depois do commit")
+    void cenario03() {
+
+        //ARRANGE
+        TransactionSynchronizationManager.initSynchronization();
+
+        //ACT
+        versoes.registrarAlteracao(1l);
+
+        //ASSERT
+        then(repository).shouldHaveNoInteractions();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        then(repository).should().incrementar("abrigo-1");
+
+    }
+
+    @Test
+    @DisplayName("Uma atualização com versões antigas do banco não deve fazer a versão em memória voltar")
+    void cenario04() {
+
+        //ARRANGE
+        given(repository.buscar("abrigo-1")).willReturn(5L);
+        versoes.registrarAlteracao(1l);
+        given(repository.buscarTodas()).willReturn(Map.of("abrigo-1", 4L));
+
+        //ACT
+        versoes.atualizar();
+
+        //ASSERT
+        Assertions.assertThat(versoes.etagAbrigo(1l)).isEqualTo("\"abrigo-1-5\"");
+        Assertions.assertThat(versoes.versaoGlobal()).isEqualTo(5L);
+
+    }
+
+}
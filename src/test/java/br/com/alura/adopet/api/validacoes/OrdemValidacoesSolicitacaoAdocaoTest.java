@@ -0,0 +1,57 @@
+package br.com.alura.adopet.api.validacoes;
+
+import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
+import br.com.alura.adopet.api.exception.ValidacaoException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class OrdemValidacoesSolicitacaoAdocaoTest {
+
+    private List<ValidacaoSolicitacaoAdocao> validacoesOrdenadas() {
+        List<ValidacaoSolicitacaoAdocao> validacoes = new ArrayList<>(List.of(
+                new ValidacaoTutorComLimiteDeAdocoes(),
+                new ValidacaoTutorComAdocaoEmAndamento(),
+                new ValidacaoPetComAdocaoEmAndamento(),
+                new ValidacaoPetDisponivel()));
+        AnnotationAwareOrderComparator.sort(validacoes);
+        return validacoes;
+    }
+
+    @Test
+    @DisplayName("Validações devem ser executadas das regras do pet para as regras do tutor")
+    void cenario01() {
+
+        //ACT
+        List<ValidacaoSolicitacaoAdocao> validacoes = validacoesOrdenadas();
+
+        //ASSERT
+        Assertions.assertThat(validacoes).extracting(v -> v.getClass().getSimpleName()).containsExactly(
+                "ValidacaoPetDisponivel",
+                "ValidacaoPetComAdocaoEmAndamento",
+                "ValidacaoTutorComAdocaoEmAndamento",
+                "ValidacaoTutorComLimiteDeAdocoes");
+
+    }
+
+    @Test
+    @DisplayName("Quando várias regras são violadas deve ser sempre reportada a primeira pela ordem")
+    void cenario02() {
+
+        //ARRANGE
+        SolicitacaoAdocaoDto dto = new SolicitacaoAdocaoDto(1l, 1l, "motivo");
+        ElegibilidadeAdocao elegibilidade = new ElegibilidadeAdocao(true, true, 1l, 5l, "Miau", "Abrigo feliz", "abrigofeliz@gmail.com");
+        List<ValidacaoSolicitacaoAdocao> validacoes = validacoesOrdenadas();
+
+        //ASSERT + ACT
+        Assertions.assertThatThrownBy(() -> validacoes.forEach(v -> v.validar(dto, elegibilidade)))
+                .isInstanceOf(ValidacaoException.class)
+                .hasMessage("Pet já foi adotado!");
+
+    }
+
+}
@@ -12,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,4 +50,16 @@ class ValidacaoPetComAdocaoEmAndamentoTest {
 
     }
 
+    @Test
+    @DisplayName("Não deve permitir pois a elegibilidade indica adoção em andamento para o pet")
+    void cenario3() {
+
+        //ARRANGE
+        var elegibilidade = new ElegibilidadeAdocao(false, true, 0L, 0L, "Miau", "Abrigo feliz", "abrigofeliz@gmail.com");
+
+        //ASSERT + ACT
+        Assertions.assertThrows(ValidacaoException.class, () -> validacaoPetComAdocaoEmAndamento.validar(dto, elegibilidade));
+        verifyNoInteractions(adocaoRepository);
+
+    }
 }
\ No newline at end of file
@@ -48,4 +48,26 @@ class ValidacaoPetDisponivelTest {
 
     }
 
+    @Test
+    void deveriaPermitirSolicitacaoDeAdocaoPetComBaseNaElegibilidade() {
+
+        //ARRANGE
+        var elegibilidade = new ElegibilidadeAdocao(false, false, 0L, 0L, "Miau", "Abrigo feliz", "abrigofeliz@gmail.com");
+
+        //ASSERT + ACT
+        Assertions.assertDoesNotThrow(() -> validacao.validar(dto, elegibilidade));
+        BDDMockito.then(petRepository).shouldHaveNoInteractions();
+
+    }
+
+    @Test
+    void naoDeveriaPermitirSolicitacaoDeAdocaoPetComBaseNaElegibilidade() {
+
+        //ARRANGE
+        var elegibilidade = new ElegibilidadeAdocao(true, false, 0L, 0L, "Miau", "Abrigo feliz", "abrigofeliz@gmail.com");
+
+        //ASSERT + ACT
+        Assertions.assertThrows(ValidacaoException.class, () -> validacao.validar(dto, elegibilidade));
+
+    }
 }
\ No newline at end of file
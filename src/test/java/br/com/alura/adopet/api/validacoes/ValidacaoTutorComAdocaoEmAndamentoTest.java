@@ -2,24 +2,17 @@ package br.com.alura.adopet.api.validacoes;
 
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
-import br.com.alura.adopet.api.model.Adocao;
 import br.com.alura.adopet.api.model.StatusAdocao;
-import br.com.alura.adopet.api.model.Tutor;
 import br.com.alura.adopet.api.repository.AdocaoRepository;
-import br.com.alura.adopet.api.repository.TutorRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,34 +21,18 @@ class ValidacaoTutorComAdocaoEmAndamentoTest {
     @Mock
     private AdocaoRepository adocaoRepository;
 
-    @Mock
-    private TutorRepository tutorRepository;
-
-    @Mock
-    private Tutor tutor;
-
     @Mock
     private SolicitacaoAdocaoDto dto;
 
-    @Mock
-    private Adocao adocao;
-
     @InjectMocks
     ValidacaoTutorComAdocaoEmAndamento validacaoTutorComAdocaoEmAndamento;
 
-    @Spy
-    private List<Adocao> adocoes = new ArrayList<>();
-
     @Test
     @DisplayName("Deve impedir a adoção pelo tutor pois este possui adoção em andamento")
     void deveImpedirAdocaoSeTutorTemAdocaoEmAndamento() {
 
         //ARRANGE
-        when(tutorRepository.getReferenceById(dto.idTutor())).thenReturn(tutor);
-        when(adocao.getStatus()).thenReturn(StatusAdocao.AGUARDANDO_AVALIACAO);
-        when(adocao.getTutor()).thenReturn(tutor);
-        adocoes.add(adocao);
-        when(adocaoRepository.findAll()).thenReturn(adocoes);
+        when(adocaoRepository.existsByTutorIdAndStatus(dto.idTutor(), StatusAdocao.AGUARDANDO_AVALIACAO)).thenReturn(true);
 
         //ASSERT + ACT
         Assertions.assertThrows(ValidacaoException.class, () -> validacaoTutorComAdocaoEmAndamento.validar(dto));
@@ -67,16 +44,26 @@ class ValidacaoTutorComAdocaoEmAndamentoTest {
     void devePermitirAdocaoDoTutor() {
 
         //ARRANGE
-        when(tutorRepository.getReferenceById(dto.idTutor())).thenReturn(tutor);
-        when(adocao.getStatus()).thenReturn(StatusAdocao.APROVADO);
-        when(adocao.getTutor()).thenReturn(tutor);
-        adocoes.add(adocao);
-        when(adocaoRepository.findAll()).thenReturn(adocoes);
+        when(adocaoRepository.existsByTutorIdAndStatus(dto.idTutor(), StatusAdocao.AGUARDANDO_AVALIACAO)).thenReturn(false);
 
         //ASSERT + ACT
         Assertions.assertDoesNotThrow(() -> validacaoTutorComAdocaoEmAndamento.validar(dto));
 
+        then(adocaoRepository).should().existsByTutorIdAndStatus(dto.idTutor(), StatusAdocao.AGUARDANDO_AVALIACAO);
+        then(adocaoRepository).shouldHaveNoMoreInteractions();
+
     }
 
+    @Test
+    @DisplayName("Deve impedir a adoção pois a elegibilidade indica adoção em andamento para o tutor")
+    void deveImpedirAdocaoComBaseNaElegibilidade() {
+
+        //ARRANGE
+        var elegibilidade = new ElegibilidadeAdocao(false, false, 1L, 0L, "Miau", "Abrigo feliz", "abrigofeliz@gmail.com");
 
+        //ASSERT + ACT
+        Assertions.assertThrows(ValidacaoException.class, () -> validacaoTutorComAdocaoEmAndamento.validar(dto, elegibilidade));
+        then(adocaoRepository).shouldHaveNoInteractions();
+
+    }
 }
\ No newline at end of file
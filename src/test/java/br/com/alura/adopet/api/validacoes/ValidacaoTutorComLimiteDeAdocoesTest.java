@@ -2,24 +2,17 @@ package br.com.alura.adopet.api.validacoes;
 
 import br.com.alura.adopet.api.dto.SolicitacaoAdocaoDto;
 import br.com.alura.adopet.api.exception.ValidacaoException;
-import br.com.alura.adopet.api.model.Adocao;
 import br.com.alura.adopet.api.model.StatusAdocao;
-import br.com.alura.adopet.api.model.Tutor;
 import br.com.alura.adopet.api.repository.AdocaoRepository;
-import br.com.alura.adopet.api.repository.TutorRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,44 +21,18 @@ class ValidacaoTutorComLimiteDeAdocoesTest {
     @Mock
     private AdocaoRepository adocaoRepository;
 
-    @Mock
-    private TutorRepository tutorRepository;
-
-    @Mock
-    private Tutor tutor;
-
     @Mock
     private SolicitacaoAdocaoDto dto;
 
-    @Mock
-    private Adocao adocao1;
-    @Mock
-    private Adocao adocao2;
-    @Mock
-    private Adocao adocao3;
-    @Mock
-    private Adocao adocao4;
-    @Mock
-    private Adocao adocao5;
-
     @InjectMocks
     ValidacaoTutorComLimiteDeAdocoes validacaoTutorComLimiteDeAdocoes;
 
-    @Spy
-    private List<Adocao> adocoes = new ArrayList<>();
-
     @Test
     @DisplayName("Deve impedir adocao pois tutor já contém 5 adocoes aprovadas")
     void cenario1() {
 
         //ARRANGE
-        when(tutorRepository.getReferenceById(dto.idTutor())).thenReturn(tutor);
-        configurarAdocoesArray(adocao1);
-        configurarAdocoesArray(adocao2);
-        configurarAdocoesArray(adocao3);
-        configurarAdocoesArray(adocao4);
-        configurarAdocoesArray(adocao5);
-        when(adocaoRepository.findAll()).thenReturn(adocoes);
+        when(adocaoRepository.countByTutorIdAndStatus(dto.idTutor(), StatusAdocao.APROVADO)).thenReturn(5L);
 
         //ASSERT + ACT
         Assertions.assertThrows(ValidacaoException.class, () -> validacaoTutorComLimiteDeAdocoes.validar(dto));
@@ -77,22 +44,51 @@ class ValidacaoTutorComLimiteDeAdocoesTest {
     void cenario2() {
 
         //ARRANGE
-        when(tutorRepository.getReferenceById(dto.idTutor())).thenReturn(tutor);
-        configurarAdocoesArray(adocao1);
-        configurarAdocoesArray(adocao2);
-        configurarAdocoesArray(adocao3);
-        configurarAdocoesArray(adocao4);
-        when(adocaoRepository.findAll()).thenReturn(adocoes);
+        when(adocaoRepository.countByTutorIdAndStatus(dto.idTutor(), StatusAdocao.APROVADO)).thenReturn(4L);
 
         //ASSERT + ACT
         Assertions.assertDoesNotThrow(() -> validacaoTutorComLimiteDeAdocoes.validar(dto));
 
     }
 
-    private void configurarAdocoesArray(Adocao adocao) {
-        when(adocao.getStatus()).thenReturn(StatusAdocao.APROVADO);
-        when(adocao.getTutor()).thenReturn(tutor);
-        adocoes.add(adocao);
+    @Test
+    @DisplayName("Não deve carregar todas as adoções para contar as aprovadas do tutor")
+    void cenario3() {
+
+        //ARRANGE
+        when(adocaoRepository.countByTutorIdAndStatus(dto.idTutor(), StatusAdocao.APROVADO)).thenReturn(0L);
+
+        //ACT
+        validacaoTutorComLimiteDeAdocoes.validar(dto);
+
+        //ASSERT
+        then(adocaoRepository).should().countByTutorIdAndStatus(dto.idTutor(), StatusAdocao.APROVADO);
+        then(adocaoRepository).shouldHaveNoMoreInteractions();
+
+    }
+
+    @Test
+    @DisplayName("Deve impedir adocao pois a elegibilidade indica 5 adocoes aprovadas")
+    void cenario4() {
+
+        //ARRANGE
+        var elegibilidade = new ElegibilidadeAdocao(false, false, 0L, 5L, "Miau", "Abrigo feliz", "abrigofeliz@gmail.com");
+
+        //ASSERT + ACT
+        Assertions.assertThrows(ValidacaoException.class, () -> validacaoTutorComLimiteDeAdocoes.validar(dto, elegibilidade));
+        then(adocaoRepository).shouldHaveNoInteractions();
+
     }
 
+    @Test
+    @DisplayName("Deve permitir adocao pois a elegibilidade indica menos que 5 adocoes aprovadas")
+    void cenario5() {
+
+        //ARRANGE
+        var elegibilidade = new ElegibilidadeAdocao(false, false, 0L, 4L, "Miau", "Abrigo feliz", "abrigofeliz@gmail.com");
+
+        //ASSERT + ACT
+        Assertions.assertDoesNotThrow(() -> validacaoTutorComLimiteDeAdocoes.validar(dto, elegibilidade));
+
+    }
 }
\ No newline at end of file